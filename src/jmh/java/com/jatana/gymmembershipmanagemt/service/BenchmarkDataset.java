@@ -0,0 +1,51 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Seeds the benchmark database with synthetic members, each with one membership and the matching
+ * current-membership snapshot. Rows are generated inside H2 with set-based inserts, in slices so a
+ * million members do not build up in a single transaction.
+ * <p>
+ * Every 10th member is INACTIVE, genders alternate, and membership end dates are spread evenly from
+ * a year ago to a year ahead, so status filters and date cut-offs select realistic fractions.
+ */
+final class BenchmarkDataset {
+
+    private static final int SLICE_SIZE = 100_000;
+
+    private BenchmarkDataset() {
+    }
+
+    static void seed(JdbcTemplate jdbcTemplate, int memberCount) {
+        for (int first = 1; first <= memberCount; first += SLICE_SIZE) {
+            int last = Math.min(memberCount, first + SLICE_SIZE - 1);
+            jdbcTemplate.update("""
+                    INSERT INTO membership (membership_id, member_id, plan_id, start_date, end_date, price_paid,
+                                            membership_status, created_at, updated_at)
+                    SELECT 'MS' || x, 'M' || x, 'PLAN' || MOD(x, 5),
+                           DATEADD('DAY', MOD(x, 730) - 730, CURRENT_DATE),
+                           DATEADD('DAY', MOD(x, 730) - 365, CURRENT_DATE),
+                           999, CASE WHEN MOD(x, 730) < 365 THEN 1 ELSE 0 END,
+                           CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                    FROM SYSTEM_RANGE(?, ?)
+                    """, first, last);
+            jdbcTemplate.update("""
+                    INSERT INTO member (member_id, first_name, last_name, full_name, date_of_birth, gender,
+                                        phone_number, email, address, member_status, photo_url, thumbnail_url,
+                                        current_membership_id, current_membership_end_date, current_membership_status,
+                                        created_at, updated_at, search_text)
+                    SELECT 'M' || x, 'First' || x, 'Last' || x, 'First' || x || ' Last' || x,
+                           DATEADD('DAY', -6570 - MOD(x * 37, 20000), CURRENT_DATE),
+                           CASE WHEN MOD(x, 2) = 0 THEN 'MALE' ELSE 'FEMALE' END,
+                           '555' || x, 'member' || x || '@example.com', x || ' Main Street',
+                           CASE WHEN MOD(x, 10) = 0 THEN 'INACTIVE' ELSE 'ACTIVE' END, '', NULL,
+                           'MS' || x, DATEADD('DAY', MOD(x, 730) - 365, CURRENT_DATE),
+                           CASE WHEN MOD(x, 730) < 365 THEN 1 ELSE 0 END,
+                           DATEADD('SECOND', x, TIMESTAMP '2024-01-01 00:00:00'), CURRENT_TIMESTAMP,
+                           LOWER('m' || x || ' first' || x || ' last' || x || ' member' || x || '@example.com')
+                    FROM SYSTEM_RANGE(?, ?)
+                    """, first, last);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.jatana.gymmembershipmanagemt.GymMembershipManagemtApplication;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberImportResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One CSV import of {@code rows} new members through {@link MemberImportService}, from parsing to
+ * the committed JDBC batches. Every iteration imports fresh member IDs, so nothing is rejected as a
+ * duplicate.
+ * <p>
+ * Runs against in-memory H2 by default. Insert batching is what this measures, so pass
+ * {@code -p jdbcUrl=jdbc:postgresql://host/db -p jdbcUser=...} for numbers that mean anything for
+ * production; the schema is created and dropped, so point it at a scratch database.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+@State(Scope.Benchmark)
+public class MemberImportBenchmark {
+
+    @Param({"5000"})
+    public int rows;
+
+    @Param({"jdbc:h2:mem:members;DB_CLOSE_DELAY=-1"})
+    public String jdbcUrl;
+
+    @Param({"sa"})
+    public String jdbcUser;
+
+    @Param({""})
+    public String jdbcPassword;
+
+    private ConfigurableApplicationContext context;
+    private MemberImportService memberImportService;
+    private int iteration;
+    private byte[] csv;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(GymMembershipManagemtApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(Map.<String, Object>of(
+                        "spring.datasource.url", jdbcUrl,
+                        "spring.datasource.username", jdbcUser,
+                        "spring.datasource.password", jdbcPassword,
+                        "spring.jpa.hibernate.ddl-auto", "create-drop",
+                        "spring.main.banner-mode", "off",
+                        "logging.level.root", "OFF",
+                        "document.storage", "local",
+                        "document.storage.local.root", "target/jmh-documents"
+                ))
+                .run();
+        memberImportService = context.getBean(MemberImportService.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void createCsv() {
+        StringBuilder builder = new StringBuilder("memberId,firstName,lastName,gender,dateOfBirth,phoneNumber,email,address\n");
+        String prefix = "import-" + iteration++ + "-";
+        for (int i = 0; i < rows; i++) {
+            builder.append(prefix).append(i)
+                    .append(",Member,Number ").append(i)
+                    .append(',').append(i % 2 == 0 ? "MALE" : "FEMALE")
+                    .append(",1990-01-").append(String.format("%02d", i % 28 + 1))
+                    .append(",555").append(String.format("%07d", i))
+                    .append(',').append(prefix).append(i).append("@example.com")
+                    .append(",\"").append(i).append(" High Street, Leeds\"\n");
+        }
+        csv = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public MemberImportResponse importCsv() {
+        MemberImportResponse response = memberImportService.importCsv(new ByteArrayInputStream(csv));
+        if (response.importedCount() != rows) {
+            throw new IllegalStateException("Imported " + response.importedCount() + " of " + rows + " rows: " + response.errors());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,102 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.jatana.gymmembershipmanagemt.GymMembershipManagemtApplication;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberPageResponse;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberSummaryResponse;
+import com.jatana.gymmembershipmanagemt.model.enums.MemberStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository-backed member listings through {@link MemberService}, against an in-memory H2 database
+ * seeded with {@code memberCount} members, one membership each. Nulls sort last as in PostgreSQL.
+ * <p>
+ * Startup jobs written in PostgreSQL-only SQL (trigram index, snapshot backfill, revenue rollups)
+ * fail on H2 without stopping the context; application logging is off so their errors do not bury
+ * the JMH output, and seeding or benchmark failures still surface through JMH. H2 has no pg_trgm
+ * either, so keyword search here is a plain scan; compare results between runs of this benchmark
+ * rather than with production numbers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class MemberListingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int memberCount;
+
+    private ConfigurableApplicationContext context;
+    private MemberService memberService;
+    private LocalDate expiringBy;
+    private String searchKey;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(GymMembershipManagemtApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(Map.<String, Object>of(
+                        "spring.datasource.url", "jdbc:h2:mem:members;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username", "sa",
+                        "spring.jpa.hibernate.ddl-auto", "create-drop",
+                        "spring.main.banner-mode", "off",
+                        "logging.level.root", "OFF",
+                        "document.storage", "local",
+                        "document.storage.local.root", "target/jmh-documents",
+                        "analytics.snapshot.refresh-interval", "PT24H"
+                ))
+                .run();
+
+        BenchmarkDataset.seed(context.getBean(JdbcTemplate.class), memberCount);
+        memberService = context.getBean(MemberService.class);
+        expiringBy = LocalDate.now().plusDays(30);
+        searchKey = "member" + memberCount / 2 + "@";
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberSummaryResponse> getMembers() {
+        return memberService.getMembers(MemberStatus.ACTIVE, "");
+    }
+
+    @Benchmark
+    public List<MemberSummaryResponse> getMembersWithSearchKey() {
+        return memberService.getMembers(MemberStatus.ACTIVE, searchKey);
+    }
+
+    @Benchmark
+    public MemberPageResponse getMembersFirstPage() {
+        return memberService.getMembersPage(MemberStatus.ACTIVE, "", null, MemberService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<MemberSummaryResponse> getMembersByDate() {
+        return memberService.getMembersByDate(expiringBy);
+    }
+}
@@ -0,0 +1,100 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.jatana.gymmembershipmanagemt.model.Member;
+import com.jatana.gymmembershipmanagemt.model.dto.projection.MemberSummaryProjection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row cost of the {@link MemberMapper} entity and projection to DTO mappings used by every member
+ * listing. Each invocation maps {@link #BATCH_SIZE} varied rows so the JIT cannot fold the work into a
+ * constant.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MemberMappingBenchmark {
+
+    private static final int BATCH_SIZE = 1024;
+
+    private LocalDate[] datesOfBirth;
+    private Member[] members;
+    private MemberSummaryProjection[] projections;
+
+    @Setup
+    public void setUp() {
+        datesOfBirth = new LocalDate[BATCH_SIZE];
+        members = new Member[BATCH_SIZE];
+        projections = new MemberSummaryProjection[BATCH_SIZE];
+
+        LocalDate today = LocalDate.now();
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            String memberId = "M" + i;
+            String gender = i % 2 == 0 ? "MALE" : "FEMALE";
+            LocalDate dateOfBirth = today.minusDays(6570 + (i * 37L) % 20000);
+            datesOfBirth[i] = dateOfBirth;
+
+            Member member = new Member();
+            member.setMemberId(memberId);
+            member.setFirstName("First" + i);
+            member.setLastName("Last" + i);
+            member.setFullName("First" + i + " Last" + i);
+            member.setDateOfBirth(dateOfBirth);
+            member.setGender(gender);
+            member.setPhoneNumber("555" + i);
+            member.setEmail("member" + i + "@example.com");
+            member.setAddress(i + " Main Street");
+            member.setMemberStatus("ACTIVE");
+            member.setPhotoUrl("");
+            members[i] = member;
+
+            projections[i] = new MemberSummaryProjection(
+                    memberId, member.getFullName(), dateOfBirth, gender, member.getPhoneNumber(),
+                    member.getEmail(), "ACTIVE", "", null,
+                    i % 10 == 0 ? null : today.plusDays(i % 365), createdAt.plusMinutes(i)
+            );
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void calculateAge(Blackhole blackhole) {
+        for (LocalDate dateOfBirth : datesOfBirth) {
+            blackhole.consume(MemberMapper.calculateAge(dateOfBirth));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void memberSummaryResponseFromProjection(Blackhole blackhole) {
+        for (MemberSummaryProjection projection : projections) {
+            blackhole.consume(MemberMapper.toMemberSummaryResponse(projection));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void memberResponseFromMember(Blackhole blackhole) {
+        for (Member member : members) {
+            blackhole.consume(MemberMapper.toMemberResponse(member));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.jatana.gymmembershipmanagemt.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Sends requests at a fixed arrival rate per endpoint, whatever the response times are (an open
+ * workload model).
+ * <p>
+ * Each endpoint has a dispatcher thread that wakes at every scheduled send time and hands the
+ * request to a virtual thread, so slow responses never delay later sends. Latency is measured from
+ * the scheduled send time rather than the actual one, so time a request spent queued in the
+ * generator or the server counts against the server and a stall shows up in the tail percentiles
+ * instead of being hidden by fewer requests being sent.
+ */
+final class FixedRateDriver {
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+
+    FixedRateDriver(HttpClient client, Duration requestTimeout) {
+        this.client = client;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Drives every endpoint for {@code warmup} plus {@code duration}, recording only requests
+     * scheduled after the warmup, then waits for requests still in flight.
+     */
+    void run(List<EndpointLoad> loads, Duration warmup, Duration duration) throws InterruptedException {
+        long startedAt = System.nanoTime();
+        long measureFrom = startedAt + warmup.toNanos();
+        long endAt = measureFrom + duration.toNanos();
+
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Thread> dispatchers = new ArrayList<>();
+            for (EndpointLoad load : loads) {
+                dispatchers.add(Thread.ofPlatform()
+                        .name("dispatch-" + load.name())
+                        .start(() -> dispatch(load, requests, startedAt, measureFrom, endAt)));
+            }
+            for (Thread dispatcher : dispatchers) {
+                dispatcher.join();
+            }
+
+            requests.shutdown();
+            if (!requests.awaitTermination(requestTimeout.toSeconds() + 5, TimeUnit.SECONDS)) {
+                System.out.println("Some requests were still in flight after the request timeout");
+            }
+        }
+    }
+
+    private void dispatch(EndpointLoad load, ExecutorService requests, long startedAt, long measureFrom, long endAt) {
+        double intervalNanos = 1_000_000_000d / load.rate();
+        for (long i = 0; ; i++) {
+            long scheduledAt = startedAt + (long) (i * intervalNanos);
+            if (scheduledAt >= endAt) {
+                return;
+            }
+            long wait = scheduledAt - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = scheduledAt >= measureFrom;
+            URI uri = load.nextUri().get();
+            requests.execute(() -> send(load, uri, scheduledAt, measured));
+        }
+    }
+
+    private void send(EndpointLoad load, URI uri, long scheduledAt, boolean measured) {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(requestTimeout).GET().build();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            long latency = System.nanoTime() - scheduledAt;
+            if (!measured) {
+                return;
+            }
+            if (response.statusCode() >= 200 && response.statusCode() < 300) {
+                load.recorder().recordSuccess(latency);
+            } else {
+                load.recorder().recordError();
+            }
+        } catch (IOException e) {
+            if (measured) {
+                load.recorder().recordError();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * One endpoint driven at {@code rate} requests per second, with {@code nextUri} supplying the
+     * URI of each request.
+     */
+    record EndpointLoad(String name, double rate, Supplier<URI> nextUri, LatencyRecorder recorder) {
+    }
+}
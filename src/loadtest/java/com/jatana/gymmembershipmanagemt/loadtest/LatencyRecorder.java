@@ -0,0 +1,48 @@
+package com.jatana.gymmembershipmanagemt.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects every latency of one endpoint during the measured window. Percentiles are computed
+ * exactly by sorting at the end; a run of a few minutes records at most a few hundred thousand
+ * samples per endpoint, so there is no need for a histogram.
+ */
+final class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    synchronized void recordSuccess(long latencyNanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count + (count >> 1));
+        }
+        latencies[count++] = latencyNanos;
+    }
+
+    synchronized void recordError() {
+        errors++;
+    }
+
+    synchronized Summary summarize() {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return new Summary(count, errors,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                count == 0 ? 0 : sorted[count - 1]);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Latencies are in nanoseconds.
+     */
+    record Summary(int successes, int errors, long p50, long p99, long p999, long max) {
+    }
+}
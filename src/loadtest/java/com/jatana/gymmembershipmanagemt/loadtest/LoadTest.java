@@ -0,0 +1,113 @@
+package com.jatana.gymmembershipmanagemt.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Seeds synthetic gym data, then drives the main read endpoints of a running instance at fixed
+ * arrival rates and prints latency percentiles and throughput per endpoint.
+ * <p>
+ * The application is expected to run on the same machine with {@code document.storage=local}, so
+ * no Cloudinary account is needed. Requests pick seeded members, memberships and dates at random,
+ * so a run touches the whole data set rather than one cached row.
+ *
+ * @see LoadTestOptions for the options and their defaults
+ */
+public class LoadTest {
+
+    private static final String[] SEARCH_KEYS = {"sharma", "patel", "kumar", "riya", "arjun"};
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        if (options.seed()) {
+            new SyntheticDataSeeder(options).seed();
+            if (options.run()) {
+                System.out.println("Restart the application now so caches and indexes pick up the seed, "
+                        + "or seed with --run=false and run with --seed=false");
+            }
+        }
+        if (!options.run()) {
+            return;
+        }
+
+        List<FixedRateDriver.EndpointLoad> loads = new ArrayList<>();
+        for (Map.Entry<String, Double> rate : options.rates().entrySet()) {
+            if (rate.getValue() > 0) {
+                loads.add(new FixedRateDriver.EndpointLoad(
+                        rate.getKey(), rate.getValue(), uriSupplier(rate.getKey(), options), new LatencyRecorder()));
+            }
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        System.out.printf("Driving %s for %s warmup + %s%n", options.baseUrl(), options.warmup(), options.duration());
+        new FixedRateDriver(client, options.requestTimeout()).run(loads, options.warmup(), options.duration());
+        printReport(loads, options.duration());
+    }
+
+    private static Supplier<URI> uriSupplier(String endpoint, LoadTestOptions options) {
+        int members = options.members();
+        int memberships = options.membershipsPerMember();
+        return switch (endpoint) {
+            case "members" -> () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                String filter = random.nextInt(5) == 0 ? "INACTIVE" : "ACTIVE";
+                String searchKey = random.nextInt(4) == 0 ? SEARCH_KEYS[random.nextInt(SEARCH_KEYS.length)] : "";
+                return uri(options, "/api/members?filter=" + filter + "&searchKey=" + encode(searchKey));
+            };
+            case "member" -> () -> uri(options, "/api/member?memberId=" + randomMemberId(members));
+            case "membersByDate" -> () -> uri(options, "/api/membersByDate?endDate="
+                    + LocalDate.now().plusDays(ThreadLocalRandom.current().nextInt(-30, 31)));
+            case "membership" -> () -> {
+                String memberId = randomMemberId(members);
+                String membershipId = "lt-ms-" + memberId.substring(5) + "-"
+                        + (1 + ThreadLocalRandom.current().nextInt(memberships));
+                return uri(options, "/api/membership?memberId=" + memberId + "&membershipId=" + membershipId);
+            };
+            case "plans" -> () -> uri(options, "/api/plans");
+            default -> throw new IllegalArgumentException("Unknown endpoint: " + endpoint);
+        };
+    }
+
+    private static String randomMemberId(int members) {
+        return "lt-m-" + (1 + ThreadLocalRandom.current().nextInt(members));
+    }
+
+    private static URI uri(LoadTestOptions options, String pathAndQuery) {
+        return options.baseUrl().resolve(pathAndQuery);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static void printReport(List<FixedRateDriver.EndpointLoad> loads, Duration duration) {
+        double seconds = duration.toMillis() / 1000d;
+        System.out.printf("%n%-15s %8s %9s %7s %12s %9s %9s %9s %9s%n",
+                "Endpoint", "Rate/s", "Requests", "Errors", "Throughput/s", "p50 ms", "p99 ms", "p99.9 ms", "Max ms");
+        for (FixedRateDriver.EndpointLoad load : loads) {
+            LatencyRecorder.Summary summary = load.recorder().summarize();
+            System.out.printf("%-15s %8.1f %9d %7d %12.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    load.name(), load.rate(), summary.successes() + summary.errors(), summary.errors(),
+                    summary.successes() / seconds, millis(summary.p50()), millis(summary.p99()),
+                    millis(summary.p999()), millis(summary.max()));
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000d;
+    }
+}
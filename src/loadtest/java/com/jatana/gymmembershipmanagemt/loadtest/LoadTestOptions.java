@@ -0,0 +1,106 @@
+package com.jatana.gymmembershipmanagemt.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options of {@link LoadTest}, each given as {@code --name=value}.
+ *
+ * @param rates requests per second per endpoint name; an endpoint with rate 0 is not driven
+ */
+record LoadTestOptions(
+        URI baseUrl,
+        String jdbcUrl,
+        String jdbcUser,
+        String jdbcPassword,
+        boolean seed,
+        boolean run,
+        int members,
+        int membershipsPerMember,
+        int documentsPerMember,
+        int plans,
+        String documentRoot,
+        Duration warmup,
+        Duration duration,
+        Duration requestTimeout,
+        Map<String, Double> rates
+) {
+
+    static final List<String> ENDPOINTS = List.of("members", "member", "membersByDate", "membership", "plans");
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("base-url", "http://localhost:8080");
+        DEFAULTS.put("jdbc-url", "jdbc:postgresql://localhost:5432/postgres");
+        DEFAULTS.put("jdbc-user", "postgres");
+        DEFAULTS.put("jdbc-password", "");
+        DEFAULTS.put("seed", "true");
+        DEFAULTS.put("run", "true");
+        DEFAULTS.put("members", "10000");
+        DEFAULTS.put("memberships-per-member", "3");
+        DEFAULTS.put("documents-per-member", "2");
+        DEFAULTS.put("plans", "8");
+        DEFAULTS.put("document-root", "data/documents");
+        DEFAULTS.put("warmup", "PT15S");
+        DEFAULTS.put("duration", "PT60S");
+        DEFAULTS.put("request-timeout", "PT30S");
+        // The full member list is by far the heaviest call, so it gets the lowest default rate
+        DEFAULTS.put("rate.members", "2");
+        DEFAULTS.put("rate.member", "50");
+        DEFAULTS.put("rate.membersByDate", "5");
+        DEFAULTS.put("rate.membership", "50");
+        DEFAULTS.put("rate.plans", "20");
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, separator);
+            if (!DEFAULTS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown option: --" + name + ". Known options: " + DEFAULTS.keySet());
+            }
+            values.put(name, arg.substring(separator + 1));
+        }
+
+        Map<String, Double> rates = new LinkedHashMap<>();
+        for (String endpoint : ENDPOINTS) {
+            double rate = Double.parseDouble(values.get("rate." + endpoint));
+            if (rate < 0) {
+                throw new IllegalArgumentException("Rate must not be negative: --rate." + endpoint + "=" + rate);
+            }
+            rates.put(endpoint, rate);
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                URI.create(values.get("base-url")),
+                values.get("jdbc-url"),
+                values.get("jdbc-user"),
+                values.get("jdbc-password"),
+                Boolean.parseBoolean(values.get("seed")),
+                Boolean.parseBoolean(values.get("run")),
+                Integer.parseInt(values.get("members")),
+                Integer.parseInt(values.get("memberships-per-member")),
+                Integer.parseInt(values.get("documents-per-member")),
+                Integer.parseInt(values.get("plans")),
+                values.get("document-root"),
+                Duration.parse(values.get("warmup")),
+                Duration.parse(values.get("duration")),
+                Duration.parse(values.get("request-timeout")),
+                rates
+        );
+        if (options.members < 1 || options.membershipsPerMember < 1 || options.plans < 1 || options.documentsPerMember < 0) {
+            throw new IllegalArgumentException(
+                    "Members, memberships per member and plans must be at least 1, documents per member at least 0");
+        }
+        return options;
+    }
+}
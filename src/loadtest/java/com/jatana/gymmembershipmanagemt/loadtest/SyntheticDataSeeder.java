@@ -0,0 +1,229 @@
+package com.jatana.gymmembershipmanagemt.loadtest;
+
+import com.jatana.gymmembershipmanagemt.util.ContentHash;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+
+/**
+ * Writes synthetic plans, members, memberships, payments and member documents straight into the
+ * application's PostgreSQL database with set-based inserts, so a million members seed in minutes
+ * rather than hours of API calls.
+ * <p>
+ * All seeded IDs start with {@value #ID_PREFIX}; a seed first deletes the previous seeded rows, so
+ * it can be repeated with other volumes without touching real data. The data is deterministic:
+ * member {@code n} has ID {@code lt-m-n} and memberships {@code lt-ms-n-1} to
+ * {@code lt-ms-n-<membershipsPerMember>}, the last being the current one. Current memberships end
+ * from 200 days ago to 200 days ahead, and members whose membership ended over 30 days ago are
+ * INACTIVE.
+ * <p>
+ * Documents point at a small set of stub files written under {@code document-root}, the same
+ * layout the local document storage uses, so document URLs resolve when the application runs with
+ * {@code document.storage=local} and the same root.
+ * <p>
+ * Run against a schema the application has already created, then restart the application so its
+ * plan cache, typeahead index and revenue rollups pick up the new rows.
+ */
+class SyntheticDataSeeder {
+
+    static final String ID_PREFIX = "lt-";
+
+    private static final int STUB_DOCUMENT_COUNT = 16;
+    private static final int STUB_DOCUMENT_SIZE = 32 * 1024;
+    private static final String DOCUMENT_PUBLIC_URL = "/api/documents/files";
+
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Vivaan", "Aditya", "Vihaan", "Arjun", "Sai", "Reyansh", "Ayaan", "Krishna", "Ishaan",
+            "Aanya", "Diya", "Saanvi", "Ananya", "Pari", "Myra", "Aadhya", "Kiara", "Riya", "Meera"
+    };
+    private static final String[] LAST_NAMES = {
+            "Sharma", "Verma", "Gupta", "Singh", "Kumar", "Patel", "Reddy", "Nair", "Iyer", "Agarwal",
+            "Mehta", "Joshi", "Chopra", "Malhotra", "Kapoor", "Bose", "Das", "Rao", "Menon", "Pillai"
+    };
+
+    private final LoadTestOptions options;
+
+    SyntheticDataSeeder(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    void seed() throws SQLException, IOException {
+        String[] documentHashes = writeStubDocuments();
+
+        try (Connection connection = DriverManager.getConnection(
+                options.jdbcUrl(), options.jdbcUser(), options.jdbcPassword())) {
+            connection.setAutoCommit(false);
+
+            long startedAt = System.nanoTime();
+            deletePreviousSeed(connection);
+            insertPlans(connection);
+            insertMemberships(connection);
+            insertPayments(connection);
+            insertMembers(connection, documentHashes);
+            insertDocuments(connection, documentHashes);
+            connection.commit();
+
+            try (Statement statement = connection.createStatement()) {
+                connection.setAutoCommit(true);
+                statement.execute("ANALYZE plan, member, membership, payment, member_document");
+            }
+            System.out.printf("Seeded %d member(s), %d membership(s) and payment(s), %d document(s) and %d plan(s) in %d s%n",
+                    options.members(), (long) options.members() * options.membershipsPerMember(),
+                    (long) options.members() * options.documentsPerMember(), options.plans(),
+                    (System.nanoTime() - startedAt) / 1_000_000_000);
+        }
+    }
+
+    private void deletePreviousSeed(Connection connection) throws SQLException {
+        String pattern = ID_PREFIX + "%";
+        update(connection, "DELETE FROM member_document WHERE member_id LIKE ?", pattern);
+        update(connection, "DELETE FROM payment WHERE membership_id LIKE ?", pattern);
+        update(connection, "DELETE FROM membership WHERE member_id LIKE ?", pattern);
+        update(connection, "DELETE FROM member WHERE member_id LIKE ?", pattern);
+        update(connection, "DELETE FROM revenue_daily_rollup WHERE plan_id LIKE ?", pattern);
+        update(connection, "DELETE FROM plan WHERE plan_id LIKE ?", pattern);
+        // Makes the next application start rebuild the revenue rollups from the seeded payments
+        update(connection, "DELETE FROM job_checkpoint WHERE job_name = ?", "revenue-rollup-backfill");
+    }
+
+    private void insertPlans(Connection connection) throws SQLException {
+        update(connection, """
+                INSERT INTO plan (plan_id, plan_name, duration_months, price, description, created_at, updated_at)
+                SELECT 'lt-plan-' || p, 'Load test plan ' || p, d.months, d.months * 1200 - (p % 3) * 100,
+                       'Synthetic ' || d.months || ' month plan', LOCALTIMESTAMP, LOCALTIMESTAMP
+                FROM generate_series(1, ?) p
+                CROSS JOIN LATERAL (SELECT (ARRAY[1, 3, 6, 12])[1 + p % 4] AS months) d
+                """, options.plans());
+    }
+
+    private void insertMemberships(Connection connection) throws SQLException {
+        // Term k of member n ends a year before term k + 1; the last term ends -200..+199 days from today
+        update(connection, """
+                INSERT INTO membership (membership_id, member_id, plan_id, start_date, end_date, price_paid,
+                                        membership_status, created_at, updated_at)
+                SELECT 'lt-ms-' || n || '-' || k, 'lt-m-' || n, p.plan_id,
+                       t.end_date - p.duration_months * 30, t.end_date, p.price,
+                       CASE WHEN t.end_date < CURRENT_DATE THEN 1 ELSE 0 END,
+                       t.end_date - p.duration_months * 30 + TIME '09:00',
+                       t.end_date - p.duration_months * 30 + TIME '09:00'
+                FROM generate_series(1, ?) n
+                CROSS JOIN generate_series(1, ?) k
+                CROSS JOIN LATERAL (SELECT CURRENT_DATE + (n * 13 % 400 - 200) - (? - k) * 365 AS end_date) t
+                JOIN plan p ON p.plan_id = 'lt-plan-' || (1 + (n + k) % ?)
+                """, options.members(), options.membershipsPerMember(), options.membershipsPerMember(), options.plans());
+    }
+
+    private void insertPayments(Connection connection) throws SQLException {
+        update(connection, """
+                INSERT INTO payment (payment_id, membership_id, price_paid, payment_date_time, payment_method,
+                                     transaction_id, receipt_url, created_at)
+                SELECT 'lt-p-' || substr(ms.membership_id, 7), ms.membership_id, ms.price_paid, ms.created_at,
+                       ascii(right(ms.membership_id, 1)) % 2, 'lt-txn-' || substr(ms.membership_id, 7), NULL,
+                       ms.created_at
+                FROM membership ms
+                WHERE ms.membership_id LIKE ?
+                """, "lt-ms-%");
+    }
+
+    private void insertMembers(Connection connection, String[] documentHashes) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+                INSERT INTO member (member_id, first_name, last_name, full_name, date_of_birth, gender, phone_number,
+                                    email, address, member_status, photo_url, thumbnail_url, current_membership_id,
+                                    current_membership_end_date, current_membership_status, created_at, updated_at,
+                                    search_text)
+                SELECT v.member_id, v.first_name, v.last_name, v.full_name,
+                       CURRENT_DATE - (6570 + n * 37 % 18000),
+                       CASE WHEN n % 50 = 0 THEN 'OTHER' WHEN n % 2 = 0 THEN 'MALE' ELSE 'FEMALE' END,
+                       '9' || lpad((n % 1000000000)::text, 9, '0'), v.email, n || ' Synthetic Street',
+                       CASE WHEN ms.end_date < CURRENT_DATE - 30 THEN 'INACTIVE' ELSE 'ACTIVE' END,
+                       CASE WHEN ? > 0 THEN ? || '/' || (?::text[])[1 + (n + 1) % ?] ELSE '' END, NULL,
+                       ms.membership_id, ms.end_date, ms.membership_status,
+                       LOCALTIMESTAMP - make_interval(mins => n), LOCALTIMESTAMP,
+                       lower(v.member_id || chr(1) || v.full_name || chr(1) || v.email)
+                FROM generate_series(1, ?) n
+                CROSS JOIN LATERAL (
+                    SELECT 'lt-m-' || n AS member_id,
+                           (?::text[])[1 + n % ?] AS first_name,
+                           (?::text[])[1 + n / ? % ?] AS last_name
+                ) names
+                CROSS JOIN LATERAL (
+                    SELECT names.member_id, names.first_name, names.last_name,
+                           names.first_name || ' ' || names.last_name AS full_name,
+                           lower(names.first_name || '.' || names.last_name) || n || '@example.com' AS email
+                ) v
+                JOIN membership ms ON ms.membership_id = 'lt-ms-' || n || '-' || ?
+                """)) {
+            int i = 1;
+            statement.setInt(i++, options.documentsPerMember());
+            statement.setString(i++, DOCUMENT_PUBLIC_URL);
+            statement.setArray(i++, connection.createArrayOf("text", documentHashes));
+            statement.setInt(i++, documentHashes.length);
+            statement.setInt(i++, options.members());
+            statement.setArray(i++, connection.createArrayOf("text", FIRST_NAMES));
+            statement.setInt(i++, FIRST_NAMES.length);
+            statement.setArray(i++, connection.createArrayOf("text", LAST_NAMES));
+            statement.setInt(i++, FIRST_NAMES.length);
+            statement.setInt(i++, LAST_NAMES.length);
+            statement.setInt(i, options.membershipsPerMember());
+            statement.executeUpdate();
+        }
+    }
+
+    private void insertDocuments(Connection connection, String[] documentHashes) throws SQLException {
+        if (options.documentsPerMember() == 0) {
+            return;
+        }
+        // Document 1 of each member is its photo, matching the member's photo URL
+        try (PreparedStatement statement = connection.prepareStatement("""
+                INSERT INTO member_document (document_id, member_id, document_type, url, content_hash, uploaded_at)
+                SELECT 'lt-d-' || n || '-' || k, 'lt-m-' || n, (k - 1) % 5, ? || '/' || h.content_hash,
+                       h.content_hash, LOCALTIMESTAMP - make_interval(mins => n)
+                FROM generate_series(1, ?) n
+                CROSS JOIN generate_series(1, ?) k
+                CROSS JOIN LATERAL (SELECT (?::text[])[1 + (n + k) % ?] AS content_hash) h
+                """)) {
+            statement.setString(1, DOCUMENT_PUBLIC_URL);
+            statement.setInt(2, options.members());
+            statement.setInt(3, options.documentsPerMember());
+            statement.setArray(4, connection.createArrayOf("text", documentHashes));
+            statement.setInt(5, documentHashes.length);
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Writes the stub document files under their content hash and returns the hashes.
+     */
+    private String[] writeStubDocuments() throws IOException {
+        Path root = Path.of(options.documentRoot());
+        String[] hashes = new String[STUB_DOCUMENT_COUNT];
+        for (int i = 0; i < STUB_DOCUMENT_COUNT; i++) {
+            byte[] content = new byte[STUB_DOCUMENT_SIZE];
+            new Random(i).nextBytes(content);
+            String hash = ContentHash.sha256(content);
+            Path file = root.resolve(hash.substring(0, 2)).resolve(hash);
+            if (!Files.exists(file)) {
+                Files.createDirectories(file.getParent());
+                Files.write(file, content);
+            }
+            hashes[i] = hash;
+        }
+        return hashes;
+    }
+
+    private static void update(Connection connection, String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            statement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.jatana.gymmembershipmanagemt.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PLANS_CACHE = "plans";
+    public static final String PLAN_CACHE = "plan";
+
+    @Value("${cache.plans.max-size:500}")
+    private long planCacheMaxSize;
+
+    @Value("${cache.plans.ttl:PT1H}")
+    private Duration planCacheTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(PLANS_CACHE, PLAN_CACHE);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(planCacheMaxSize)
+                .expireAfterWrite(planCacheTtl)
+                .recordStats());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,39 @@
+package com.jatana.gymmembershipmanagemt.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    @Value("${jpa.batch-size:50}")
+    private int batchSize;
+
+    /**
+     * Groups inserts and updates into JDBC batches so bulk writes such as the member import send one
+     * round trip per batch instead of one per row. Explicit spring.jpa.properties still win.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+        };
+    }
+
+    /**
+     * Counts and times the statements of each request for {@link QueryBudgetFilter}.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryStatsCustomizer() {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingStatementInspector());
+            properties.putIfAbsent(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                    QueryTimingSessionEventListener.class.getName());
+        };
+    }
+}
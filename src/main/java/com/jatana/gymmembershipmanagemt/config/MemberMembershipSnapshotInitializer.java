@@ -0,0 +1,74 @@
+package com.jatana.gymmembershipmanagemt.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills the current-membership snapshot on {@code member} for members whose memberships were
+ * added before the snapshot columns existed. New memberships keep the snapshot up to date
+ * themselves, so once every member with a membership has one this finds nothing to do.
+ * <p>
+ * Members are updated in batches of {@code member.snapshot.backfill-batch-size}, each its own
+ * statement, so row locks are held briefly on large tables. Only members without a snapshot are
+ * touched, which makes the job safe to run on every start.
+ */
+@Slf4j
+@Component
+public class MemberMembershipSnapshotInitializer {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${member.snapshot.backfill-batch-size:1000}")
+    private int batchSize;
+
+    // Before other startup listeners, the membership expiry run relies on the snapshot
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillCurrentMembership() {
+        try {
+            long startedAt = System.nanoTime();
+            long backfilled = 0;
+            int updated;
+            do {
+                updated = jdbcTemplate.update("""
+                        WITH batch AS (
+                            SELECT m.member_id FROM member m
+                            WHERE m.current_membership_id IS NULL
+                                AND EXISTS (SELECT 1 FROM membership ms WHERE ms.member_id = m.member_id)
+                            LIMIT ?
+                        ),
+                        latest AS (
+                            SELECT DISTINCT ON (ms.member_id)
+                                ms.member_id, ms.membership_id, ms.end_date, ms.membership_status
+                            FROM membership ms
+                            WHERE ms.member_id IN (SELECT member_id FROM batch)
+                            ORDER BY ms.member_id, ms.end_date DESC NULLS LAST, ms.created_at DESC
+                        )
+                        UPDATE member m
+                        SET current_membership_id = latest.membership_id,
+                            current_membership_end_date = latest.end_date,
+                            current_membership_status = latest.membership_status
+                        FROM latest
+                        WHERE m.member_id = latest.member_id
+                            AND m.current_membership_id IS NULL
+                        """, batchSize);
+                backfilled += updated;
+            } while (updated > 0);
+
+            if (backfilled > 0) {
+                log.info("Backfilled current membership snapshot for {} member(s) in {} ms",
+                        backfilled, (System.nanoTime() - startedAt) / 1_000_000);
+            }
+        } catch (Exception e) {
+            log.error("Failed to backfill current membership snapshot. Error: {}", e.getMessage(), e);
+        }
+    }
+}
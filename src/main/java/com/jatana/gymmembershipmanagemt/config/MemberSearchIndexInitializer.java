@@ -0,0 +1,50 @@
+package com.jatana.gymmembershipmanagemt.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the pg_trgm GIN index behind member search and backfills {@code member.search_text} for
+ * rows written before the column existed or with an older format, joined the way
+ * {@link com.jatana.gymmembershipmanagemt.util.SearchText#of} joins it. JPA {@code @Index} cannot express operator-class indexes,
+ * so this runs once the schema has been updated. Every statement is idempotent.
+ */
+@Slf4j
+@Component
+public class MemberSearchIndexInitializer {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createSearchIndex() {
+        try {
+            int backfilled = jdbcTemplate.update("""
+                    UPDATE member
+                    SET search_text = LOWER(CONCAT_WS(CHR(1), member_id, full_name, email))
+                    WHERE search_text IS DISTINCT FROM LOWER(CONCAT_WS(CHR(1), member_id, full_name, email))
+                    """);
+            if (backfilled > 0) {
+                log.info("Backfilled search text for {} member(s)", backfilled);
+            }
+        } catch (Exception e) {
+            log.error("Failed to backfill member search text. Error: {}", e.getMessage(), e);
+        }
+
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute("""
+                    CREATE INDEX IF NOT EXISTS idx_member_search_text_trgm
+                    ON member USING gin (search_text gin_trgm_ops)
+                    """);
+            log.info("Member search trigram index is in place");
+        } catch (Exception e) {
+            log.warn("Could not create trigram index for member search, searches will scan the member table. Error: {}",
+                    e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.jatana.gymmembershipmanagemt.config;
+
+import com.jatana.gymmembershipmanagemt.service.MemberTypeaheadService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the instance out of service until the member typeahead index has been loaded, so it is
+ * not sent lookup traffic it would answer from an empty index.
+ */
+@Component
+public class MemberTypeaheadHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private MemberTypeaheadService memberTypeaheadService;
+
+    @Override
+    public Health health() {
+        if (!memberTypeaheadService.isReady()) {
+            return Health.outOfService().withDetail("reason", "Member typeahead index is not loaded yet").build();
+        }
+        return Health.up().withDetail("members", memberTypeaheadService.indexedMemberCount()).build();
+    }
+}
@@ -0,0 +1,12 @@
+package com.jatana.gymmembershipmanagemt.config;
+
+/**
+ * Thrown with {@code query.budget.action=FAIL} when a request runs more SQL statements than its
+ * budget allows.
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
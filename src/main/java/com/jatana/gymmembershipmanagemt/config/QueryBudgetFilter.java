@@ -0,0 +1,119 @@
+package com.jatana.gymmembershipmanagemt.config;
+
+import com.jatana.gymmembershipmanagemt.model.enums.QueryBudgetAction;
+import com.jatana.gymmembershipmanagemt.util.QueryStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements and JDBC time of every request through {@link QueryStats}, publishes
+ * them as metrics per endpoint and checks them against its {@link QueryBudgets budget}.
+ * <p>
+ * A request over its budget is logged and counted. With {@code query.budget.action=FAIL}, meant
+ * for test runs, it also fails with a 500 instead of its normal response. Most responses are sent
+ * before this filter gets the request back, so responses with a body are checked by
+ * {@link QueryStatsResponseHeaderAdvice} just before the body is written. Here the filter only
+ * fails responses that have not been sent yet. A statement repeated
+ * {@code query.repeated-statement-threshold} times in one request is logged as a likely N+1 query.
+ * <p>
+ * Responses written after the handler returns (streamed exports) keep querying on another thread
+ * after this filter, so they are not counted.
+ */
+@Slf4j
+@Component
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_TIME_HEADER = "X-Query-Time-Ms";
+
+    /**
+     * Request attribute set once the request has been failed for exceeding its budget.
+     */
+    public static final String BUDGET_EXCEEDED_ATTRIBUTE = QueryBudgetFilter.class.getName() + ".budgetExceeded";
+
+    private static final String STATEMENTS_SUMMARY = "request.db.statements";
+    private static final String DB_TIME_TIMER = "request.db.time";
+    private static final String BUDGET_EXCEEDED_COUNTER = "request.db.budget.exceeded";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private QueryBudgets queryBudgets;
+
+    @Value("${query.repeated-statement-threshold:10}")
+    private int repeatedStatementThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStats queryStats = new QueryStats();
+        try (QueryStats.Binding ignored = QueryStats.bind(queryStats)) {
+            filterChain.doFilter(request, response);
+        }
+
+        if (isAsyncStarted(request)) {
+            return;
+        }
+        checkQueries(request, response, queryStats);
+    }
+
+    private void checkQueries(HttpServletRequest request, HttpServletResponse response, QueryStats queryStats)
+            throws IOException {
+        String method = request.getMethod();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        long statements = queryStats.statementCount();
+
+        DistributionSummary.builder(STATEMENTS_SUMMARY)
+                .baseUnit("statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements);
+        Timer.builder(DB_TIME_TIMER)
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(queryStats.executionNanos(), TimeUnit.NANOSECONDS);
+
+        if (repeatedStatementThreshold > 0) {
+            queryStats.mostRepeatedStatement()
+                    .filter(statement -> statement.getValue() >= repeatedStatementThreshold)
+                    .ifPresent(statement -> log.warn("Possible N+1 query - {} {} ran the same statement {} times: {}",
+                            method, uri, statement.getValue(), statement.getKey()));
+        }
+
+        int budget = queryBudgets.budgetFor(method, uri);
+        if (QueryBudgets.isExceeded(statements, budget)) {
+            meterRegistry.counter(BUDGET_EXCEEDED_COUNTER, "method", method, "uri", uri).increment();
+            String message = QueryBudgets.exceededMessage(method, uri, statements, budget);
+            if (queryBudgets.action() != QueryBudgetAction.FAIL) {
+                log.warn(message);
+            } else if (request.getAttribute(BUDGET_EXCEEDED_ATTRIBUTE) != null) {
+                log.error(message);
+            } else if (!response.isCommitted()) {
+                log.error(message);
+                request.setAttribute(BUDGET_EXCEEDED_ATTRIBUTE, Boolean.TRUE);
+                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, message);
+            } else {
+                log.error("{}; the response was already sent", message);
+            }
+        }
+    }
+}
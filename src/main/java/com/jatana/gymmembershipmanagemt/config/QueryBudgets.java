@@ -0,0 +1,70 @@
+package com.jatana.gymmembershipmanagemt.config;
+
+import com.jatana.gymmembershipmanagemt.model.enums.QueryBudgetAction;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL statement budgets per endpoint, shared by {@link QueryBudgetFilter} and
+ * {@link QueryStatsResponseHeaderAdvice}.
+ * <p>
+ * Budgets come from {@code query.budget.default} and {@code query.budget.endpoints}, a comma
+ * separated list of {@code [METHOD ]/uri/pattern=limit} entries such as
+ * {@code GET /api/member=8,/api/plans=1}; 0 means no budget. {@code query.budget.action} decides
+ * whether a request over its budget is only logged or fails.
+ */
+@Slf4j
+@Component
+public class QueryBudgets {
+
+    @Value("${query.budget.default:0}")
+    private int defaultBudget;
+
+    @Value("${query.budget.endpoints:}")
+    private String endpointBudgetList;
+
+    @Value("${query.budget.action:LOG}")
+    private QueryBudgetAction action;
+
+    private final Map<String, Integer> endpointBudgets = new HashMap<>();
+
+    @PostConstruct
+    void parseEndpointBudgets() {
+        for (String entry : endpointBudgetList.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid query budget entry, expected [METHOD ]/uri=limit: " + entry);
+            }
+            endpointBudgets.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+        }
+        log.debug("Query budgets - default: {}, per endpoint: {}, action: {}", defaultBudget, endpointBudgets, action);
+    }
+
+    public QueryBudgetAction action() {
+        return action;
+    }
+
+    /**
+     * Returns the budget of the endpoint, by method and URI pattern first, then by URI pattern alone,
+     * then the default; 0 means no budget.
+     */
+    public int budgetFor(String method, String uri) {
+        return endpointBudgets.getOrDefault(method + " " + uri, endpointBudgets.getOrDefault(uri, defaultBudget));
+    }
+
+    public static boolean isExceeded(long statements, int budget) {
+        return budget > 0 && statements > budget;
+    }
+
+    public static String exceededMessage(String method, String uri, long statements, int budget) {
+        return "Query budget exceeded - " + method + " " + uri + " ran " + statements + " statement(s), budget: " + budget;
+    }
+}
@@ -0,0 +1,20 @@
+package com.jatana.gymmembershipmanagemt.config;
+
+import com.jatana.gymmembershipmanagemt.util.QueryStats;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares against the {@link QueryStats} of the current
+ * request. The SQL is returned unchanged.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryStats queryStats = QueryStats.current();
+        if (queryStats != null) {
+            queryStats.recordStatement(sql);
+        }
+        return sql;
+    }
+}
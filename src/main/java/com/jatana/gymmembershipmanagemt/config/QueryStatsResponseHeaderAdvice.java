@@ -0,0 +1,90 @@
+package com.jatana.gymmembershipmanagemt.config;
+
+import com.jatana.gymmembershipmanagemt.model.dto.response.ErrorResponse;
+import com.jatana.gymmembershipmanagemt.model.enums.QueryBudgetAction;
+import com.jatana.gymmembershipmanagemt.util.QueryStats;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.time.LocalDateTime;
+
+/**
+ * Adds the statement count and JDBC time of the request so far as response headers, just before the
+ * body is written. Headers cannot be added once the body is on its way, which is why this is not
+ * done in {@link QueryBudgetFilter}.
+ * <p>
+ * For the same reason, with {@code query.budget.action=FAIL} a request over its budget fails here,
+ * while the response can still be replaced by a 500 {@link ErrorResponse}.
+ */
+@ControllerAdvice
+public class QueryStatsResponseHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Autowired
+    private QueryBudgets queryBudgets;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryStats queryStats = QueryStats.current();
+        if (queryStats == null) {
+            return body;
+        }
+
+        long statements = queryStats.statementCount();
+        if (queryBudgets.action() == QueryBudgetAction.FAIL && request instanceof ServletServerHttpRequest servletRequest) {
+            checkBudget(servletRequest.getServletRequest(), statements);
+        }
+        response.getHeaders().set(QueryBudgetFilter.QUERY_COUNT_HEADER, Long.toString(statements));
+        response.getHeaders().set(QueryBudgetFilter.QUERY_TIME_HEADER,
+                Double.toString(queryStats.executionNanos() / 1_000 / 1_000d));
+        return body;
+    }
+
+    @ExceptionHandler(QueryBudgetExceededException.class)
+    public ResponseEntity<ErrorResponse> handleQueryBudgetExceeded(QueryBudgetExceededException e,
+                                                                   HttpServletRequest request) {
+        ErrorResponse err = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
+                .error(HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase())
+                .message(e.getMessage())
+                .path(request.getRequestURI())
+                .build();
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(err);
+    }
+
+    // Only the first body written is checked, so the error response that replaces it goes through
+    private void checkBudget(HttpServletRequest request, long statements) {
+        if (request.getAttribute(QueryBudgetFilter.BUDGET_EXCEEDED_ATTRIBUTE) != null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return;
+        }
+        int budget = queryBudgets.budgetFor(request.getMethod(), pattern.toString());
+        if (QueryBudgets.isExceeded(statements, budget)) {
+            request.setAttribute(QueryBudgetFilter.BUDGET_EXCEEDED_ATTRIBUTE, Boolean.TRUE);
+            throw new QueryBudgetExceededException(
+                    QueryBudgets.exceededMessage(request.getMethod(), pattern.toString(), statements, budget));
+        }
+    }
+}
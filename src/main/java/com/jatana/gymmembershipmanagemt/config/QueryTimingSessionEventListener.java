@@ -0,0 +1,41 @@
+package com.jatana.gymmembershipmanagemt.config;
+
+import com.jatana.gymmembershipmanagemt.util.QueryStats;
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Adds the time Hibernate spends executing JDBC statements and batches to the {@link QueryStats} of
+ * the current request. Hibernate creates one listener per session, and a session is used by one
+ * thread at a time, so the start time needs no synchronization.
+ */
+public class QueryTimingSessionEventListener extends BaseSessionEventListener {
+
+    private long executionStartedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStartedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        recordExecution();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStartedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        recordExecution();
+    }
+
+    private void recordExecution() {
+        QueryStats queryStats = QueryStats.current();
+        if (queryStats != null) {
+            queryStats.recordExecution(System.nanoTime() - executionStartedAt);
+        }
+    }
+}
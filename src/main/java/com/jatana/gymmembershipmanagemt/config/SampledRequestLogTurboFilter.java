@@ -0,0 +1,46 @@
+package com.jatana.gymmembershipmanagemt.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Keeps the INFO logs of application loggers for only a sample of requests. WARN and ERROR events,
+ * and everything logged outside a request, are never sampled out.
+ * <p>
+ * The decision is a hash of the request ID, so a request keeps either all or none of its INFO lines
+ * and a sampled request can be followed end to end. A turbo filter runs before Logback creates the
+ * event or formats the message, so a dropped line costs one MDC lookup.
+ * <p>
+ * Configured in {@code logback-spring.xml}; {@code rate} is the kept fraction, from 0 to 1.
+ */
+public class SampledRequestLogTurboFilter extends TurboFilter {
+
+    private static final int SAMPLE_BUCKETS = 10_000;
+
+    private String loggerPrefix = "";
+    private int keptBuckets = SAMPLE_BUCKETS;
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setRate(double rate) {
+        keptBuckets = (int) Math.round(Math.clamp(rate, 0d, 1d) * SAMPLE_BUCKETS);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level != Level.INFO || keptBuckets == SAMPLE_BUCKETS || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        String requestId = MDC.get(RequestIdFilter.REQUEST_ID_KEY);
+        if (requestId == null) {
+            return FilterReply.NEUTRAL;
+        }
+        return Math.floorMod(requestId.hashCode(), SAMPLE_BUCKETS) < keptBuckets ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
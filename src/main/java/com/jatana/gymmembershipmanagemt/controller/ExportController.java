@@ -0,0 +1,147 @@
+package com.jatana.gymmembershipmanagemt.controller;
+
+import com.jatana.gymmembershipmanagemt.model.dto.response.ErrorResponse;
+import com.jatana.gymmembershipmanagemt.model.enums.ExportFormat;
+import com.jatana.gymmembershipmanagemt.service.DataExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+
+@Slf4j
+@RestController
+@CrossOrigin
+@RequestMapping("/api/export")
+@Tag(name = "Data Export", description = "APIs for exporting members, memberships and payments")
+public class ExportController {
+
+    @Autowired
+    private DataExportService dataExportService;
+
+    @Operation(
+        summary = "Export all members",
+        description = "Streams every member as CSV or NDJSON"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Export stream"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid export format",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    @GetMapping("/members")
+    public ResponseEntity<StreamingResponseBody> exportMembers(
+        @Parameter(description = "Export format (CSV/NDJSON)", example = "CSV")
+        @RequestParam(required = false, defaultValue = "CSV") String format) {
+        return export("members", format, dataExportService::exportMembers);
+    }
+
+    @Operation(
+        summary = "Export all memberships",
+        description = "Streams every membership as CSV or NDJSON"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Export stream"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid export format",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    @GetMapping("/memberships")
+    public ResponseEntity<StreamingResponseBody> exportMemberships(
+        @Parameter(description = "Export format (CSV/NDJSON)", example = "CSV")
+        @RequestParam(required = false, defaultValue = "CSV") String format) {
+        return export("memberships", format, dataExportService::exportMemberships);
+    }
+
+    @Operation(
+        summary = "Export all payments",
+        description = "Streams every payment as CSV or NDJSON"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Export stream"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid export format",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    @GetMapping("/payments")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+        @Parameter(description = "Export format (CSV/NDJSON)", example = "CSV")
+        @RequestParam(required = false, defaultValue = "CSV") String format) {
+        return export("payments", format, dataExportService::exportPayments);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String name, String format,
+                                                         BiConsumer<ExportFormat, OutputStream> exporter) {
+        log.info("Received {} export request - format: {}", name, format);
+
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid export format provided: {}. Valid values are: CSV, NDJSON", format);
+            throw new IllegalArgumentException("Invalid export format: " + format, e);
+        }
+
+        MediaType mediaType = exportFormat == ExportFormat.CSV
+                ? MediaType.parseMediaType("text/csv")
+                : MediaType.parseMediaType("application/x-ndjson");
+        String fileName = name + (exportFormat == ExportFormat.CSV ? ".csv" : ".ndjson");
+
+        StreamingResponseBody body = out -> exporter.accept(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+    // The streaming handlers must declare a StreamingResponseBody to be streamed, so request errors
+    // are thrown and answered here
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequest(IllegalArgumentException e, HttpServletRequest request) {
+        ErrorResponse err = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                .message(e.getMessage())
+                .path(request.getRequestURI())
+                .build();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err);
+    }
+}
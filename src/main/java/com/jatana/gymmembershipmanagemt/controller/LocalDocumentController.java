@@ -0,0 +1,119 @@
+package com.jatana.gymmembershipmanagemt.controller;
+
+import com.jatana.gymmembershipmanagemt.model.dto.response.ErrorResponse;
+import com.jatana.gymmembershipmanagemt.service.storage.LocalDocumentStorage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Slf4j
+@RestController
+@CrossOrigin
+@RequestMapping("/api")
+@ConditionalOnProperty(name = "document.storage", havingValue = "local")
+@Tag(name = "Member Documents", description = "APIs for managing member documents (photos, ID proofs, etc.)")
+public class LocalDocumentController {
+
+    @Autowired
+    private LocalDocumentStorage localDocumentStorage;
+
+    @Operation(
+        summary = "Download stored document",
+        description = "Serves a document stored by the local storage backend, with support for HEAD and byte range requests. " +
+                "Files are addressed by content hash and never change"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Document content"
+        ),
+        @ApiResponse(
+            responseCode = "206",
+            description = "Requested byte range of the document"
+        ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Document not modified"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Document not found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    @GetMapping("/documents/files/{storageKey}")
+    public ResponseEntity<?> downloadDocument(
+            @Parameter(description = "Content hash of the document", required = true)
+            @PathVariable String storageKey,
+            HttpServletRequest request) {
+        log.debug("Received document download request - key: {}", storageKey);
+
+        try {
+            Optional<Path> file = localDocumentStorage.resolve(storageKey);
+            if (file.isEmpty()) {
+                return notFound(storageKey, request);
+            }
+
+            // Spring answers If-None-Match with 304 from the ETag, and serves HEAD and Range requests
+            // from the resource
+            Path path = file.get();
+            return ResponseEntity.ok()
+                    .eTag(storageKey)
+                    .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                    .contentType(guessContentType(path))
+                    .body(new FileSystemResource(path));
+
+        } catch (IllegalArgumentException e) {
+            return notFound(storageKey, request);
+        }
+    }
+
+    private static ResponseEntity<?> notFound(String storageKey, HttpServletRequest request) {
+        log.warn("Document not found - key: {}", storageKey);
+        ErrorResponse err = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.NOT_FOUND.value())
+                .error(HttpStatus.NOT_FOUND.getReasonPhrase())
+                .message("Document not found: " + storageKey)
+                .path(request.getRequestURI())
+                .build();
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(err);
+    }
+
+    private static MediaType guessContentType(Path path) {
+        // Blobs are stored without an extension, so sniff the magic bytes instead
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            String contentType = URLConnection.guessContentTypeFromStream(in);
+            return contentType != null ? MediaType.parseMediaType(contentType) : MediaType.APPLICATION_OCTET_STREAM;
+        } catch (Exception e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+}
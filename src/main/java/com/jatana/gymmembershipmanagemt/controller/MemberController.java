@@ -2,10 +2,15 @@ package com.jatana.gymmembershipmanagemt.controller;
 
 import com.jatana.gymmembershipmanagemt.model.dto.request.MemberRequest;
 import com.jatana.gymmembershipmanagemt.model.dto.request.MemberUpdateRequest;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberImportResponse;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberPageResponse;
 import com.jatana.gymmembershipmanagemt.model.dto.response.MemberResponse;
 import com.jatana.gymmembershipmanagemt.model.dto.response.MemberSummaryResponse;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberTypeaheadResponse;
 import com.jatana.gymmembershipmanagemt.model.enums.MemberStatus;
+import com.jatana.gymmembershipmanagemt.service.MemberImportService;
 import com.jatana.gymmembershipmanagemt.service.MemberService;
+import com.jatana.gymmembershipmanagemt.service.MemberTypeaheadService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,7 +20,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
@@ -23,6 +30,7 @@ import com.jatana.gymmembershipmanagemt.model.dto.response.ErrorResponse;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.CrossOrigin;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -33,9 +41,17 @@ import java.util.List;
 @Tag(name = "Member Management", description = "APIs for managing gym members")
 public class MemberController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     @Autowired
     private MemberService memberService;
 
+    @Autowired
+    private MemberTypeaheadService memberTypeaheadService;
+
+    @Autowired
+    private MemberImportService memberImportService;
+
     @Operation(
         summary = "Create a new member",
         description = "Creates a new member in the system with the provided details"
@@ -183,6 +199,206 @@ public class MemberController {
         }
     }
 
+    @Operation(
+        summary = "Import members in bulk",
+        description = "Creates members from a CSV (text/csv, with a header row) or NDJSON (application/x-ndjson) body. "
+                + "Invalid rows and existing member IDs are reported per line and do not stop the import."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Import finished, see the response for rejected rows",
+            content = @Content(schema = @Schema(implementation = MemberImportResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Missing or invalid CSV header",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    @PostMapping(value = "/members/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importMembers(
+        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+        InputStream body,
+        HttpServletRequest request) {
+        log.info("Received member import request - content type: {}", contentType);
+
+        try {
+            MemberImportResponse importResponse = MediaType.parseMediaType(contentType).isCompatibleWith(TEXT_CSV)
+                    ? memberImportService.importCsv(body)
+                    : memberImportService.importNdjson(body);
+
+            log.info("Member import finished - rows: {}, imported: {}, failed: {}",
+                    importResponse.totalRows(), importResponse.importedCount(), importResponse.failedCount());
+
+            return ResponseEntity.ok(importResponse);
+
+        } catch (IllegalArgumentException e) {
+            log.error("Bad request while importing members. Error: {}", e.getMessage());
+            ErrorResponse err = ErrorResponse.builder()
+                    .timestamp(LocalDateTime.now())
+                    .status(HttpStatus.BAD_REQUEST.value())
+                    .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                    .message(e.getMessage())
+                    .path(request.getRequestURI())
+                    .build();
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err);
+
+        } catch (Exception e) {
+            log.error("Internal error while importing members. Error: {}", e.getMessage(), e);
+            ErrorResponse err = ErrorResponse.builder()
+                    .timestamp(LocalDateTime.now())
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
+                    .error(HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase())
+                    .message("Internal server error")
+                    .path(request.getRequestURI())
+                    .build();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(err);
+        }
+    }
+
+    @Operation(
+        summary = "Get members page by page",
+        description = "Retrieves members matching the specified filter and search criteria one page at a time, newest first. "
+                + "Pass the returned nextCursor back to fetch the following page."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved a page of members",
+            content = @Content(schema = @Schema(implementation = MemberPageResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid filter value or cursor",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    @GetMapping("/members/page")
+    public ResponseEntity<?> getMembersPage(
+        @Parameter(description = "Filter members by status (ACTIVE/INACTIVE)", example = "ACTIVE")
+        @RequestParam(required = false) String filter,
+        @Parameter(description = "Search key for member name, email, or ID")
+        @RequestParam(required = false, defaultValue = "") String searchKey,
+        @Parameter(description = "Cursor returned by the previous page; omit for the first page")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Number of members per page (max " + MemberService.MAX_PAGE_SIZE + ")", example = "50")
+        @RequestParam(required = false, defaultValue = "" + MemberService.DEFAULT_PAGE_SIZE) int size,
+        HttpServletRequest request) {
+
+        log.info("Received request to fetch members page - filter: {}, search key: '{}', size: {}, cursor: {}",
+                filter, searchKey, size, cursor);
+
+        try {
+            MemberStatus memberStatus = MemberStatus.ACTIVE;
+            if (filter != null && !filter.isBlank()) {
+                try {
+                    memberStatus = MemberStatus.valueOf(filter.toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    log.error("Invalid filter value provided: {}. Valid values are: ACTIVE, INACTIVE", filter);
+                    ErrorResponse err = ErrorResponse.builder()
+                            .timestamp(LocalDateTime.now())
+                            .status(HttpStatus.BAD_REQUEST.value())
+                            .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                            .message("Invalid filter value: " + filter)
+                            .path(request.getRequestURI())
+                            .build();
+                    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err);
+                }
+            }
+
+            MemberPageResponse page = memberService.getMembersPage(memberStatus, searchKey, cursor, size);
+
+            log.info("Successfully retrieved page of {} member(s) with filter: {}, has next page: {}",
+                    page.members().size(), memberStatus, page.nextCursor() != null);
+
+            return ResponseEntity.ok(page);
+
+        } catch (IllegalArgumentException e) {
+            log.error("Bad request while fetching members page - cursor: {}. Error: {}", cursor, e.getMessage());
+            ErrorResponse err = ErrorResponse.builder()
+                    .timestamp(LocalDateTime.now())
+                    .status(HttpStatus.BAD_REQUEST.value())
+                    .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                    .message(e.getMessage())
+                    .path(request.getRequestURI())
+                    .build();
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err);
+
+        } catch (Exception e) {
+            log.error("Internal error while fetching members page - filter: {}, search key: '{}'. Error: {}",
+                    filter, searchKey, e.getMessage(), e);
+            ErrorResponse err = ErrorResponse.builder()
+                    .timestamp(LocalDateTime.now())
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
+                    .error(HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase())
+                    .message("Internal server error")
+                    .path(request.getRequestURI())
+                    .build();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(err);
+        }
+    }
+
+    @Operation(
+        summary = "Suggest members while typing",
+        description = "Returns the first members whose ID, name, email or phone number starts with the query. "
+                + "Served from an in-memory index without a database round-trip."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved suggestions",
+            content = @Content(schema = @Schema(implementation = MemberTypeaheadResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid filter value",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    @GetMapping("/members/typeahead")
+    public ResponseEntity<?> getMemberSuggestions(
+        @Parameter(description = "Prefix of member ID, name, email or phone number", required = true, example = "joh")
+        @RequestParam String q,
+        @Parameter(description = "Filter suggestions by status (ACTIVE/INACTIVE); all statuses when omitted", example = "ACTIVE")
+        @RequestParam(required = false) String filter,
+        @Parameter(description = "Maximum number of suggestions (max " + MemberTypeaheadService.MAX_LIMIT + ")", example = "10")
+        @RequestParam(required = false, defaultValue = "" + MemberTypeaheadService.DEFAULT_LIMIT) int limit,
+        HttpServletRequest request) {
+
+        log.debug("Received typeahead request - query: '{}', filter: {}, limit: {}", q, filter, limit);
+
+        MemberStatus memberStatus = null;
+        if (filter != null && !filter.isBlank()) {
+            try {
+                memberStatus = MemberStatus.valueOf(filter.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                log.error("Invalid filter value provided: {}. Valid values are: ACTIVE, INACTIVE", filter);
+                ErrorResponse err = ErrorResponse.builder()
+                        .timestamp(LocalDateTime.now())
+                        .status(HttpStatus.BAD_REQUEST.value())
+                        .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                        .message("Invalid filter value: " + filter)
+                        .path(request.getRequestURI())
+                        .build();
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err);
+            }
+        }
+
+        List<MemberTypeaheadResponse> suggestions = memberTypeaheadService.search(q, memberStatus, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
     @Operation(
         summary = "Get members by membership end date",
         description = "Retrieves all active members whose membership ends on or before the specified date"
@@ -1,8 +1,10 @@
 package com.jatana.gymmembershipmanagemt.controller;
 
 import com.jatana.gymmembershipmanagemt.model.dto.request.MemberDocumentUploadRequest;
+import com.jatana.gymmembershipmanagemt.model.dto.response.DocumentUploadJobResponse;
 import com.jatana.gymmembershipmanagemt.model.dto.response.MemberDocumentResponse;
 import com.jatana.gymmembershipmanagemt.model.enums.DocType;
+import com.jatana.gymmembershipmanagemt.service.DocumentUploadJobService;
 import com.jatana.gymmembershipmanagemt.service.MemberDocumentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,11 +15,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
+import java.util.concurrent.RejectedExecutionException;
 import com.jatana.gymmembershipmanagemt.model.dto.response.ErrorResponse;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -33,6 +37,9 @@ public class MemberDocumentController {
     @Autowired
     private MemberDocumentService memberDocumentService;
 
+    @Autowired
+    private DocumentUploadJobService documentUploadJobService;
+
     @Operation(
         summary = "Upload member document",
         description = "Uploads a document (photo, ID proof, etc.) for a member"
@@ -161,4 +168,146 @@ public class MemberDocumentController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(err);
         }
     }
-}
\ No newline at end of file
+
+    @Operation(
+        summary = "Queue member document upload",
+        description = "Accepts a document for a member and uploads it in the background. Returns a job whose progress can be polled"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "Document accepted for upload",
+            content = @Content(schema = @Schema(implementation = DocumentUploadJobResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid request data or empty file",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Upload queue is full, retry later",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    @PostMapping(
+        value = "/member/upload/document/async",
+        consumes = MediaType.MULTIPART_FORM_DATA_VALUE
+    )
+    public ResponseEntity<?> queueDocumentUpload(
+            @Parameter(description = "ID of the member", required = true)
+            @RequestParam String memberId,
+            @Parameter(
+                description = "Document file and type",
+                required = true,
+                schema = @Schema(implementation = MemberDocumentUploadRequest.class)
+            )
+            @ModelAttribute MemberDocumentUploadRequest memberDocumentUploadRequest,
+            HttpServletRequest request) {
+
+        MultipartFile file = memberDocumentUploadRequest.file();
+        log.info("Received async document upload request - member ID: {}, doc type: {}, file size: {} bytes",
+                memberId, memberDocumentUploadRequest.docType(), file != null ? file.getSize() : 0);
+
+        try {
+            if (file == null || file.isEmpty()) {
+                log.error("Upload failed - Empty or null file for member ID: {}, doc type: {}",
+                        memberId, memberDocumentUploadRequest.docType());
+                ErrorResponse err = ErrorResponse.builder()
+                        .timestamp(LocalDateTime.now())
+                        .status(HttpStatus.BAD_REQUEST.value())
+                        .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                        .message("Empty or missing file")
+                        .path(request.getRequestURI())
+                        .build();
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err);
+            }
+
+            DocumentUploadJobResponse job = documentUploadJobService.submit(memberId, memberDocumentUploadRequest);
+
+            log.info("Accepted document upload - member ID: {}, job ID: {}", memberId, job.jobId());
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+
+        } catch (IllegalArgumentException e) {
+            log.error("Bad request while queueing document upload - member ID: {}. Error: {}",
+                    memberId, e.getMessage());
+            ErrorResponse err = ErrorResponse.builder()
+                    .timestamp(LocalDateTime.now())
+                    .status(HttpStatus.BAD_REQUEST.value())
+                    .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                    .message(e.getMessage())
+                    .path(request.getRequestURI())
+                    .build();
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err);
+
+        } catch (RejectedExecutionException e) {
+            log.warn("Upload queue full - rejecting document upload for member ID: {}", memberId);
+            ErrorResponse err = ErrorResponse.builder()
+                    .timestamp(LocalDateTime.now())
+                    .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                    .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+                    .message("Upload queue is full, retry later")
+                    .path(request.getRequestURI())
+                    .build();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(err);
+
+        } catch (Exception e) {
+            log.error("Unexpected error while queueing document upload - member ID: {}. Error: {}",
+                    memberId, e.getMessage(), e);
+            ErrorResponse err = ErrorResponse.builder()
+                    .timestamp(LocalDateTime.now())
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
+                    .error(HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase())
+                    .message("Unexpected server error")
+                    .path(request.getRequestURI())
+                    .build();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(err);
+        }
+    }
+
+    @Operation(
+        summary = "Get document upload job",
+        description = "Returns the progress of a queued document upload"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved upload job",
+            content = @Content(schema = @Schema(implementation = DocumentUploadJobResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Upload job not found or expired",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    @GetMapping("/member/upload/jobs/{jobId}")
+    public ResponseEntity<?> getDocumentUploadJob(
+            @Parameter(description = "ID of the upload job", required = true)
+            @PathVariable String jobId,
+            HttpServletRequest request) {
+        log.debug("Received request to fetch document upload job - job ID: {}", jobId);
+
+        return documentUploadJobService.getJob(jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> {
+                    log.warn("Document upload job not found - job ID: {}", jobId);
+                    ErrorResponse err = ErrorResponse.builder()
+                            .timestamp(LocalDateTime.now())
+                            .status(HttpStatus.NOT_FOUND.value())
+                            .error(HttpStatus.NOT_FOUND.getReasonPhrase())
+                            .message("Upload job not found with ID: " + jobId)
+                            .path(request.getRequestURI())
+                            .build();
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(err);
+                });
+    }
+}
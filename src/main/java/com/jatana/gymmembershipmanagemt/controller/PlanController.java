@@ -1,6 +1,7 @@
 package com.jatana.gymmembershipmanagemt.controller;
 
 import com.jatana.gymmembershipmanagemt.model.dto.request.PlanRequest;
+import com.jatana.gymmembershipmanagemt.model.dto.response.CacheStatsResponse;
 import com.jatana.gymmembershipmanagemt.model.dto.response.PlanResponse;
 import com.jatana.gymmembershipmanagemt.service.PlanService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -191,6 +192,23 @@ public class PlanController {
         }
     }
 
+    @Operation(
+        summary = "Get plan cache statistics",
+        description = "Retrieves hit, miss and eviction counts of the in-process plan caches"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved cache statistics",
+            content = @Content(schema = @Schema(implementation = CacheStatsResponse.class))
+        )
+    })
+    @GetMapping("/plans/cache-stats")
+    public ResponseEntity<?> getPlanCacheStats() {
+        log.debug("Received request to fetch plan cache statistics");
+        return ResponseEntity.ok(planService.getCacheStats());
+    }
+
     @Operation(
         summary = "Delete a membership plan",
         description = "Deletes a specific membership plan"
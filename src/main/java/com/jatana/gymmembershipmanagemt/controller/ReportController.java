@@ -0,0 +1,167 @@
+package com.jatana.gymmembershipmanagemt.controller;
+
+import com.jatana.gymmembershipmanagemt.model.dto.response.AnalyticsSummaryResponse;
+import com.jatana.gymmembershipmanagemt.model.dto.response.ErrorResponse;
+import com.jatana.gymmembershipmanagemt.model.dto.response.RevenueReportResponse;
+import com.jatana.gymmembershipmanagemt.model.enums.RevenueGroupBy;
+import com.jatana.gymmembershipmanagemt.service.AnalyticsService;
+import com.jatana.gymmembershipmanagemt.service.RevenueReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+@Slf4j
+@RestController
+@CrossOrigin
+@RequestMapping("/api/reports")
+@Tag(name = "Reports", description = "APIs for revenue, payment and member reporting")
+public class ReportController {
+
+    private static final int DEFAULT_REPORT_DAYS = 30;
+
+    @Autowired
+    private RevenueReportService revenueReportService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Operation(
+        summary = "Get revenue report",
+        description = "Returns payment count and revenue between two payment dates (inclusive), grouped by day, month, "
+                + "plan or payment method. Defaults to the last " + DEFAULT_REPORT_DAYS + " days grouped by day."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully built revenue report",
+            content = @Content(schema = @Schema(implementation = RevenueReportResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid date range or group",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    @GetMapping("/revenue")
+    public ResponseEntity<?> getRevenueReport(
+        @Parameter(description = "First payment date (YYYY-MM-DD)", example = "2024-01-01")
+        @RequestParam(required = false) LocalDate from,
+        @Parameter(description = "Last payment date (YYYY-MM-DD)", example = "2024-12-31")
+        @RequestParam(required = false) LocalDate to,
+        @Parameter(description = "Grouping (DAY/MONTH/PLAN/PAYMENT_METHOD)", example = "MONTH")
+        @RequestParam(required = false, defaultValue = "DAY") String groupBy,
+        HttpServletRequest request) {
+        log.info("Received request for revenue report - from: {}, to: {}, group by: {}", from, to, groupBy);
+
+        try {
+            RevenueGroupBy revenueGroupBy;
+            try {
+                revenueGroupBy = RevenueGroupBy.valueOf(groupBy.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                log.error("Invalid group by value provided: {}. Valid values are: DAY, MONTH, PLAN, PAYMENT_METHOD", groupBy);
+                ErrorResponse err = ErrorResponse.builder()
+                        .timestamp(LocalDateTime.now())
+                        .status(HttpStatus.BAD_REQUEST.value())
+                        .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                        .message("Invalid group by value: " + groupBy)
+                        .path(request.getRequestURI())
+                        .build();
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err);
+            }
+
+            LocalDate reportTo = to != null ? to : LocalDate.now();
+            LocalDate reportFrom = from != null ? from : reportTo.minusDays(DEFAULT_REPORT_DAYS - 1);
+            RevenueReportResponse report = revenueReportService.getRevenueReport(reportFrom, reportTo, revenueGroupBy);
+
+            log.info("Successfully built revenue report - {} bucket(s), total revenue: {}",
+                    report.buckets().size(), report.totalRevenue());
+
+            return ResponseEntity.ok(report);
+
+        } catch (IllegalArgumentException e) {
+            log.error("Bad request while building revenue report. Error: {}", e.getMessage());
+            ErrorResponse err = ErrorResponse.builder()
+                    .timestamp(LocalDateTime.now())
+                    .status(HttpStatus.BAD_REQUEST.value())
+                    .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                    .message(e.getMessage())
+                    .path(request.getRequestURI())
+                    .build();
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err);
+
+        } catch (Exception e) {
+            log.error("Internal error while building revenue report. Error: {}", e.getMessage(), e);
+            ErrorResponse err = ErrorResponse.builder()
+                    .timestamp(LocalDateTime.now())
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
+                    .error(HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase())
+                    .message("Internal server error")
+                    .path(request.getRequestURI())
+                    .build();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(err);
+        }
+    }
+
+    @Operation(
+        summary = "Get member analytics summary",
+        description = "Returns active members by gender and age group, active memberships per plan and churn over the last "
+                + AnalyticsService.CHURN_WINDOW_DAYS + " days, computed from a periodically refreshed in-memory snapshot"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully built analytics summary",
+            content = @Content(schema = @Schema(implementation = AnalyticsSummaryResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    @GetMapping("/analytics")
+    public ResponseEntity<?> getAnalyticsSummary(HttpServletRequest request) {
+        log.info("Received request for analytics summary");
+
+        try {
+            AnalyticsSummaryResponse summary = analyticsService.getSummary();
+            log.info("Successfully built analytics summary - members: {}, active: {}",
+                    summary.totalMembers(), summary.activeMembers());
+            return ResponseEntity.ok(summary);
+
+        } catch (Exception e) {
+            log.error("Internal error while building analytics summary. Error: {}", e.getMessage(), e);
+            ErrorResponse err = ErrorResponse.builder()
+                    .timestamp(LocalDateTime.now())
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
+                    .error(HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase())
+                    .message("Internal server error")
+                    .path(request.getRequestURI())
+                    .build();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(err);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.jatana.gymmembershipmanagemt.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Progress marker for a scheduled job. {@code highWaterMark} is the last date the job has fully
+ * processed, so the next run only looks at rows after it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+public class JobCheckpoint {
+    @Id
+    private String jobName;
+
+    private LocalDate highWaterMark;
+
+    private LocalDateTime updatedAt;
+}
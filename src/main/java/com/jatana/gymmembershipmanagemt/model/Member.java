@@ -1,5 +1,7 @@
 package com.jatana.gymmembershipmanagemt.model;
 
+import com.jatana.gymmembershipmanagemt.model.enums.MembershipStatus;
+import com.jatana.gymmembershipmanagemt.util.SearchText;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,7 +15,9 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Entity
 @Table(indexes = {
-        @Index(name = "idx_member_status", columnList = "member_status")
+        @Index(name = "idx_member_status", columnList = "member_status"),
+        @Index(name = "idx_member_created_at_id", columnList = "created_at, member_id"),
+        @Index(name = "idx_member_status_current_end_date", columnList = "member_status, current_membership_end_date")
 })
 public class Member {
     @Id
@@ -35,9 +39,39 @@ public class Member {
 
     private String memberStatus;
 
+    /**
+     * True while the member is INACTIVE because the membership expiry job deactivated them, so a
+     * renewal only brings back those members and not ones an admin deactivated. Cleared by any
+     * manual status change.
+     */
+    private Boolean inactiveByExpiry;
+
     private String photoUrl;
 
+    private String thumbnailUrl;
+
+    /**
+     * Snapshot of the membership with the latest end date, written by
+     * {@code MembershipService.addMembership} in the same transaction as the membership itself, so
+     * listings read it from this row instead of aggregating the membership table. Null until the
+     * member has a membership.
+     */
+    private String currentMembershipId;
+    private LocalDate currentMembershipEndDate;
+    private MembershipStatus currentMembershipStatus;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    /**
+     * Lower-cased memberId, full name and email, kept in sync on every write and served by a
+     * pg_trgm GIN index so substring search does not scan the table.
+     */
+    private String searchText;
+
+    @PrePersist
+    @PreUpdate
+    public void refreshSearchText() {
+        searchText = SearchText.of(memberId, fullName, email);
+    }
 }
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Entity
 @Table(indexes = {
-        @Index(name = "idx_member_document_member", columnList = "member_id")
+        @Index(name = "idx_member_document_member", columnList = "member_id"),
+        @Index(name = "idx_member_document_content_hash", columnList = "content_hash")
 })
 public class MemberDocument {
     @Id
@@ -28,5 +29,15 @@ public class MemberDocument {
 
     private String url;
 
+    /**
+     * Hex SHA-256 of the stored file, used to skip unchanged re-uploads and to reuse identical blobs.
+     */
+    private String contentHash;
+
+    /**
+     * Thumbnail of a photo's content, so a later upload that reuses the content reuses it too.
+     */
+    private String thumbnailUrl;
+
     private LocalDateTime uploadedAt;
 }
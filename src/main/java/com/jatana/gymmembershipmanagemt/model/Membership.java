@@ -18,7 +18,8 @@ import com.jatana.gymmembershipmanagemt.util.UuidGenerator;
 
 @Table(indexes = {
         @Index(name = "idx_membership_member_end_date", columnList = "member_id, end_date"),
-        @Index(name = "idx_membership_id", columnList = "membership_id")
+        @Index(name = "idx_membership_id", columnList = "membership_id"),
+        @Index(name = "idx_membership_status_end_date", columnList = "membership_status, end_date")
 })
 public class Membership {
     @Id
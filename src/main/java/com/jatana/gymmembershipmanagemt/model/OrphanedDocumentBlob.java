@@ -0,0 +1,29 @@
+package com.jatana.gymmembershipmanagemt.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A stored blob that no document referenced when it was last checked. The blob is deleted once it
+ * has stayed unreferenced for the cleanup grace period, unless an upload claims it first.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_orphaned_document_blob_orphaned_at", columnList = "orphaned_at")
+})
+public class OrphanedDocumentBlob {
+    @Id
+    private String storageKey;
+
+    private LocalDateTime orphanedAt;
+}
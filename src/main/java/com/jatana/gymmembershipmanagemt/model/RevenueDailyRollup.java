@@ -0,0 +1,41 @@
+package com.jatana.gymmembershipmanagemt.model;
+
+import com.jatana.gymmembershipmanagemt.model.enums.PaymentMethod;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Payment count and revenue per day, plan and payment method. Rows are upserted as payments are
+ * recorded, so revenue reports read these few rows instead of aggregating the payment table.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_revenue_daily_rollup_date", columnList = "revenue_date")
+})
+public class RevenueDailyRollup {
+    /**
+     * {@code revenueDate|planId|paymentMethod ordinal}, with an empty segment for a missing plan or
+     * method, so a single primary key serves the upsert.
+     */
+    @Id
+    private String rollupId;
+
+    private LocalDate revenueDate;
+    private String planId;
+    private PaymentMethod paymentMethod;
+
+    private long paymentCount;
+    private double revenue;
+
+    public static String rollupIdOf(LocalDate revenueDate, String planId, PaymentMethod paymentMethod) {
+        return revenueDate + "|" + (planId == null ? "" : planId) + "|"
+                + (paymentMethod == null ? "" : paymentMethod.ordinal());
+    }
+}
@@ -0,0 +1,14 @@
+package com.jatana.gymmembershipmanagemt.model.dto.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Member columns read when building the analytics snapshot.
+ */
+public record MemberAnalyticsProjection(
+        String gender,
+        String memberStatus,
+        LocalDate dateOfBirth,
+        LocalDate currentMembershipEndDate
+) {
+}
@@ -0,0 +1,24 @@
+package com.jatana.gymmembershipmanagemt.model.dto.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Flat row used by the member listing queries. Carries the member columns needed for a
+ * {@link com.jatana.gymmembershipmanagemt.model.dto.response.MemberSummaryResponse} together with
+ * the member's current membership end date, so the whole list is read from the member table alone.
+ */
+public record MemberSummaryProjection(
+        String memberId,
+        String fullName,
+        LocalDate dateOfBirth,
+        String gender,
+        String phoneNumber,
+        String email,
+        String memberStatus,
+        String photoUrl,
+        String thumbnailUrl,
+        LocalDate membershipEndDate,
+        LocalDateTime createdAt
+) {
+}
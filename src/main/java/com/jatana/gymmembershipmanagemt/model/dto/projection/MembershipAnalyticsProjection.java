@@ -0,0 +1,13 @@
+package com.jatana.gymmembershipmanagemt.model.dto.projection;
+
+import com.jatana.gymmembershipmanagemt.model.enums.MembershipStatus;
+
+/**
+ * Membership columns read when building the analytics snapshot.
+ */
+public record MembershipAnalyticsProjection(
+        String planId,
+        MembershipStatus membershipStatus,
+        double pricePaid
+) {
+}
@@ -0,0 +1,38 @@
+package com.jatana.gymmembershipmanagemt.model.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "Response object containing gym-wide member and membership statistics")
+public record AnalyticsSummaryResponse(
+        @Schema(description = "When the snapshot the numbers come from was built", example = "2024-01-15T10:30:00")
+        LocalDateTime snapshotBuiltAt,
+
+        @Schema(description = "Number of members", example = "1500")
+        long totalMembers,
+
+        @Schema(description = "Number of active members", example = "1200")
+        long activeMembers,
+
+        @Schema(description = "Active members per gender")
+        Map<String, Long> activeMembersByGender,
+
+        @Schema(description = "Active members per age group, youngest first")
+        Map<String, Long> activeMembersByAgeGroup,
+
+        @Schema(description = "Active memberships per plan, most popular first")
+        List<PlanMixResponse> planMix,
+
+        @Schema(description = "Days looked back for churn", example = "30")
+        int churnWindowDays,
+
+        @Schema(description = "Members whose latest membership ended within the churn window", example = "45")
+        long churnedMembers,
+
+        @Schema(description = "Churned members divided by churned plus members with a membership still running", example = "0.036")
+        double churnRate
+) {
+}
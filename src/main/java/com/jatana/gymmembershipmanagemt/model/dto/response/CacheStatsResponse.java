@@ -0,0 +1,25 @@
+package com.jatana.gymmembershipmanagemt.model.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Response object containing hit/miss statistics of an in-process cache")
+public record CacheStatsResponse(
+        @Schema(description = "Name of the cache", example = "plan")
+        String cacheName,
+
+        @Schema(description = "Approximate number of entries currently cached", example = "12")
+        long size,
+
+        @Schema(description = "Number of lookups served from the cache", example = "1520")
+        long hitCount,
+
+        @Schema(description = "Number of lookups that had to load from the database", example = "14")
+        long missCount,
+
+        @Schema(description = "Number of entries evicted by size or expiry", example = "2")
+        long evictionCount,
+
+        @Schema(description = "Fraction of lookups served from the cache", example = "0.99")
+        double hitRate
+) {
+}
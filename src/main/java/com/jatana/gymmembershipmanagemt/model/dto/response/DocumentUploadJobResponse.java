@@ -0,0 +1,38 @@
+package com.jatana.gymmembershipmanagemt.model.dto.response;
+
+import com.jatana.gymmembershipmanagemt.model.enums.DocType;
+import com.jatana.gymmembershipmanagemt.model.enums.DocumentUploadJobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Response object describing the progress of an asynchronous document upload")
+public record DocumentUploadJobResponse(
+        @Schema(description = "Unique identifier of the upload job", example = "3f6c2b1e-8d7a-4c21-9a55-0b1f2e3d4c5b")
+        String jobId,
+
+        @Schema(description = "ID of the member the document belongs to", example = "MEM001")
+        String memberId,
+
+        @Schema(description = "Type of document (PHOTO/AADHAR_CARD/IDENTITY_PROOF/ADDRESS_PROOF/OTHER)", example = "PHOTO")
+        DocType docType,
+
+        @Schema(description = "Current state of the job (QUEUED/PROCESSING/RETRYING/COMPLETED/FAILED)", example = "QUEUED")
+        DocumentUploadJobStatus status,
+
+        @Schema(description = "Number of upload attempts started so far", example = "1")
+        int attempts,
+
+        @Schema(description = "Stored document, present once the job has completed")
+        MemberDocumentResponse document,
+
+        @Schema(description = "Reason of the last failure, if any", example = "Failed to upload document for member: MEM001")
+        String error,
+
+        @Schema(description = "Timestamp when the upload was accepted", example = "2024-01-15T10:30:00")
+        LocalDateTime submittedAt,
+
+        @Schema(description = "Timestamp of the last status change", example = "2024-01-15T10:30:02")
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,16 @@
+package com.jatana.gymmembershipmanagemt.model.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A row of a member import that was not imported")
+public record MemberImportError(
+        @Schema(description = "Line number of the row in the uploaded file, starting at 1", example = "17")
+        long lineNumber,
+
+        @Schema(description = "Member ID of the row, if it could be read", example = "MEM123")
+        String memberId,
+
+        @Schema(description = "Reason the row was rejected", example = "Member already exists with ID: MEM123")
+        String message
+) {
+}
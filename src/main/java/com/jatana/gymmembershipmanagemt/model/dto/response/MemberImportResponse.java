@@ -0,0 +1,21 @@
+package com.jatana.gymmembershipmanagemt.model.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Response object summarising a bulk member import")
+public record MemberImportResponse(
+        @Schema(description = "Number of data rows read", example = "5000")
+        long totalRows,
+
+        @Schema(description = "Number of members created", example = "4987")
+        long importedCount,
+
+        @Schema(description = "Number of rows rejected", example = "13")
+        long failedCount,
+
+        @Schema(description = "Rejected rows with the reason, limited to the first 1000")
+        List<MemberImportError> errors
+) {
+}
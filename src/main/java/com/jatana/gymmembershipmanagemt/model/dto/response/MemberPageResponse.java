@@ -0,0 +1,16 @@
+package com.jatana.gymmembershipmanagemt.model.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Response object containing one page of members and the cursor for the next page")
+public record MemberPageResponse(
+        @Schema(description = "Members on this page, newest first")
+        List<MemberSummaryResponse> members,
+
+        @Schema(description = "Opaque cursor to pass back for the next page; null when there are no more members",
+                example = "MjAyNC0wMS0wMVQxMDowMDp8TUVNMTIz")
+        String nextCursor
+) {
+}
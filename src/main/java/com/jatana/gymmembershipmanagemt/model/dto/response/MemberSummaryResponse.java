@@ -33,6 +33,9 @@ public record MemberSummaryResponse(
         @Schema(description = "URL of member's photo", example = "https://cloudinary.com/photos/member123.jpg")
         String photoUrl,
         
+        @Schema(description = "URL of a small thumbnail of the member's photo", example = "https://cloudinary.com/photos/member123-thumb.jpg")
+        String thumbnailUrl,
+        
         @Schema(description = "End date of the current/latest membership", example = "2024-12-31")
         LocalDate membershipEndDate
 ) {
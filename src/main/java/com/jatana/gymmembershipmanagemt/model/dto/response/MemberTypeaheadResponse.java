@@ -0,0 +1,31 @@
+package com.jatana.gymmembershipmanagemt.model.dto.response;
+
+import com.jatana.gymmembershipmanagemt.model.enums.MemberStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Response object containing the member fields shown in front-desk typeahead suggestions")
+public record MemberTypeaheadResponse(
+        @Schema(description = "Unique identifier of the member", example = "MEM123")
+        String memberId,
+
+        @Schema(description = "Full name of the member", example = "John Doe")
+        String fullName,
+
+        @Schema(description = "Phone number of the member", example = "+1234567890")
+        String phoneNumber,
+
+        @Schema(description = "Email address of the member", example = "john.doe@example.com")
+        String email,
+
+        @Schema(description = "Current status of the member", example = "ACTIVE")
+        MemberStatus memberStatus,
+
+        @Schema(description = "URL of member's photo", example = "https://cloudinary.com/photos/member123.jpg")
+        String photoUrl
+) {
+    // Used by the JPQL constructor expression in MemberRepo, which reads the status column as text
+    public MemberTypeaheadResponse(String memberId, String fullName, String phoneNumber, String email,
+                                   String memberStatus, String photoUrl) {
+        this(memberId, fullName, phoneNumber, email, MemberStatus.valueOf(memberStatus), photoUrl);
+    }
+}
@@ -4,6 +4,7 @@ import com.jatana.gymmembershipmanagemt.model.enums.MembershipStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Schema(description = "Response object containing membership information")
 public record MembershipResponse(
@@ -20,6 +21,9 @@ public record MembershipResponse(
         double pricePaid,
         
         @Schema(description = "Current status of the membership", example = "ACTIVE")
-        MembershipStatus membershipStatus
+        MembershipStatus membershipStatus,
+
+        @Schema(description = "Payments recorded against this membership")
+        List<PaymentResponse> payments
 ) {
 }
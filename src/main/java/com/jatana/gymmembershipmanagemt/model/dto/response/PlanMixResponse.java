@@ -0,0 +1,16 @@
+package com.jatana.gymmembershipmanagemt.model.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Response object containing the active memberships of one plan")
+public record PlanMixResponse(
+        @Schema(description = "Plan ID, or NONE for memberships without a plan", example = "PLAN001")
+        String planId,
+
+        @Schema(description = "Number of active memberships on the plan", example = "120")
+        long activeMemberships,
+
+        @Schema(description = "Amount paid for the active memberships on the plan", example = "119880.0")
+        double revenue
+) {
+}
@@ -0,0 +1,16 @@
+package com.jatana.gymmembershipmanagemt.model.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Response object containing the payments and revenue of one report group")
+public record RevenueBucketResponse(
+        @Schema(description = "Group key: a date, a month (YYYY-MM), a plan ID or a payment method", example = "2024-01")
+        String key,
+
+        @Schema(description = "Number of payments in the group", example = "42")
+        long paymentCount,
+
+        @Schema(description = "Total amount paid in the group", example = "41958.0")
+        double revenue
+) {
+}
@@ -0,0 +1,29 @@
+package com.jatana.gymmembershipmanagemt.model.dto.response;
+
+import com.jatana.gymmembershipmanagemt.model.enums.RevenueGroupBy;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Response object containing revenue for a date range, grouped by day, month, plan or payment method")
+public record RevenueReportResponse(
+        @Schema(description = "First payment date included", example = "2024-01-01")
+        LocalDate from,
+
+        @Schema(description = "Last payment date included", example = "2024-12-31")
+        LocalDate to,
+
+        @Schema(description = "How the buckets are grouped", example = "MONTH")
+        RevenueGroupBy groupBy,
+
+        @Schema(description = "Number of payments in the range", example = "512")
+        long totalPayments,
+
+        @Schema(description = "Total amount paid in the range", example = "511488.0")
+        double totalRevenue,
+
+        @Schema(description = "Revenue per group, ordered by key")
+        List<RevenueBucketResponse> buckets
+) {
+}
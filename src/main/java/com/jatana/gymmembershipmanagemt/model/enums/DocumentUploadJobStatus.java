@@ -0,0 +1,9 @@
+package com.jatana.gymmembershipmanagemt.model.enums;
+
+public enum DocumentUploadJobStatus {
+    QUEUED,
+    PROCESSING,
+    RETRYING,
+    COMPLETED,
+    FAILED,
+}
@@ -0,0 +1,6 @@
+package com.jatana.gymmembershipmanagemt.model.enums;
+
+public enum QueryBudgetAction {
+    LOG,
+    FAIL,
+}
@@ -0,0 +1,8 @@
+package com.jatana.gymmembershipmanagemt.model.enums;
+
+public enum RevenueGroupBy {
+    DAY,
+    MONTH,
+    PLAN,
+    PAYMENT_METHOD,
+}
@@ -0,0 +1,31 @@
+package com.jatana.gymmembershipmanagemt.repo;
+
+import com.jatana.gymmembershipmanagemt.model.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobCheckpointRepo extends JpaRepository<JobCheckpoint, String> {
+
+    /**
+     * Moves the job's high-water mark forward to the given date, never back, so a slower run that
+     * started earlier cannot undo the progress of one that finished after it.
+     */
+    @Modifying
+    @Query(value = """
+    INSERT INTO job_checkpoint (job_name, high_water_mark, updated_at)
+    VALUES (:jobName, :highWaterMark, :updatedAt)
+    ON CONFLICT (job_name) DO UPDATE
+    SET high_water_mark = GREATEST(job_checkpoint.high_water_mark, EXCLUDED.high_water_mark),
+        updated_at = EXCLUDED.updated_at
+""", nativeQuery = true)
+    int advanceHighWaterMark(@Param("jobName") String jobName,
+                             @Param("highWaterMark") LocalDate highWaterMark,
+                             @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -4,7 +4,14 @@ import com.jatana.gymmembershipmanagemt.model.MemberDocument;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface MemberDocumentRepo extends JpaRepository<MemberDocument, String> {
     List<MemberDocument> findMemberDocumentByMemberId(String memberId);
+
+    Optional<MemberDocument> findFirstByContentHash(String contentHash);
+
+    Optional<MemberDocument> findFirstByContentHashAndThumbnailUrlIsNotNull(String contentHash);
+
+    long countByContentHash(String contentHash);
 }
@@ -1,12 +1,25 @@
 package com.jatana.gymmembershipmanagemt.repo;
 
 import com.jatana.gymmembershipmanagemt.model.Member;
+import com.jatana.gymmembershipmanagemt.model.dto.projection.MemberAnalyticsProjection;
+import com.jatana.gymmembershipmanagemt.model.dto.projection.MemberSummaryProjection;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberTypeaheadResponse;
+import com.jatana.gymmembershipmanagemt.model.enums.MembershipStatus;
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface MemberRepo extends JpaRepository<Member, String> {
@@ -16,15 +29,188 @@ public interface MemberRepo extends JpaRepository<Member, String> {
         (:filter IS NULL OR :filter = '' OR LOWER(m.memberStatus) = LOWER(:filter))
         AND (
             :keyword IS NULL OR :keyword = '' OR
-            LOWER(m.fullName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR
-            LOWER(m.email) LIKE LOWER(CONCAT('%', :keyword, '%')) OR
-            LOWER(m.memberId) LIKE LOWER(CONCAT('%', :keyword, '%'))
+            m.searchText LIKE CONCAT('%', :keyword, '%') ESCAPE '\\'
         )
     ORDER BY m.createdAt DESC
 """)
     List<Member> findMembersUsingFilterAndSearchKeyword(@Param("filter") String filter,
                                                         @Param("keyword") String keyword);
 
+    @Query("""
+    SELECT new com.jatana.gymmembershipmanagemt.model.dto.projection.MemberSummaryProjection(
+        m.memberId, m.fullName, m.dateOfBirth, m.gender, m.phoneNumber, m.email,
+        m.memberStatus, m.photoUrl, m.thumbnailUrl, m.currentMembershipEndDate, m.createdAt
+    )
+    FROM Member m
+    WHERE
+        (:filter IS NULL OR :filter = '' OR LOWER(m.memberStatus) = LOWER(:filter))
+        AND (
+            :keyword IS NULL OR :keyword = '' OR
+            m.searchText LIKE CONCAT('%', :keyword, '%') ESCAPE '\\'
+        )
+    ORDER BY m.createdAt DESC
+""")
+    List<MemberSummaryProjection> findMemberSummariesUsingFilterAndSearchKeyword(@Param("filter") String filter,
+                                                                                @Param("keyword") String keyword);
 
-}
+    @Query("""
+    SELECT new com.jatana.gymmembershipmanagemt.model.dto.projection.MemberSummaryProjection(
+        m.memberId, m.fullName, m.dateOfBirth, m.gender, m.phoneNumber, m.email,
+        m.memberStatus, m.photoUrl, m.thumbnailUrl, m.currentMembershipEndDate, m.createdAt
+    )
+    FROM Member m
+    WHERE m.memberStatus = :status
+        AND m.searchText LIKE CONCAT('%', :keyword, '%') ESCAPE '\\'
+    ORDER BY m.createdAt DESC
+""")
+    List<MemberSummaryProjection> searchMemberSummaries(@Param("status") String status,
+                                                        @Param("keyword") String keyword);
+
+    @Query("""
+    SELECT new com.jatana.gymmembershipmanagemt.model.dto.projection.MemberSummaryProjection(
+        m.memberId, m.fullName, m.dateOfBirth, m.gender, m.phoneNumber, m.email,
+        m.memberStatus, m.photoUrl, m.thumbnailUrl, m.currentMembershipEndDate, m.createdAt
+    )
+    FROM Member m
+    WHERE m.memberStatus = :status
+        AND (m.currentMembershipEndDate IS NULL OR m.currentMembershipEndDate <= :endDate)
+    ORDER BY m.createdAt DESC
+""")
+    List<MemberSummaryProjection> findMemberSummariesWithMembershipEndingBy(@Param("status") String status,
+                                                                           @Param("endDate") LocalDate endDate);
+
+    @Query("""
+    SELECT new com.jatana.gymmembershipmanagemt.model.dto.projection.MemberSummaryProjection(
+        m.memberId, m.fullName, m.dateOfBirth, m.gender, m.phoneNumber, m.email,
+        m.memberStatus, m.photoUrl, m.thumbnailUrl, m.currentMembershipEndDate, m.createdAt
+    )
+    FROM Member m
+    WHERE
+        (:filter IS NULL OR :filter = '' OR LOWER(m.memberStatus) = LOWER(:filter))
+        AND (
+            :keyword IS NULL OR :keyword = '' OR
+            m.searchText LIKE CONCAT('%', :keyword, '%') ESCAPE '\\'
+        )
+    ORDER BY m.createdAt DESC, m.memberId DESC
+""")
+    List<MemberSummaryProjection> findMemberSummaryPage(@Param("filter") String filter,
+                                                        @Param("keyword") String keyword,
+                                                        Limit limit);
+
+    @Query("""
+    SELECT new com.jatana.gymmembershipmanagemt.model.dto.projection.MemberSummaryProjection(
+        m.memberId, m.fullName, m.dateOfBirth, m.gender, m.phoneNumber, m.email,
+        m.memberStatus, m.photoUrl, m.thumbnailUrl, m.currentMembershipEndDate, m.createdAt
+    )
+    FROM Member m
+    WHERE
+        (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.memberId < :memberId))
+        AND (:filter IS NULL OR :filter = '' OR LOWER(m.memberStatus) = LOWER(:filter))
+        AND (
+            :keyword IS NULL OR :keyword = '' OR
+            m.searchText LIKE CONCAT('%', :keyword, '%') ESCAPE '\\'
+        )
+    ORDER BY m.createdAt DESC, m.memberId DESC
+""")
+    List<MemberSummaryProjection> findMemberSummaryPageAfter(@Param("filter") String filter,
+                                                             @Param("keyword") String keyword,
+                                                             @Param("createdAt") LocalDateTime createdAt,
+                                                             @Param("memberId") String memberId,
+                                                             Limit limit);
+
+    @Query("""
+    SELECT new com.jatana.gymmembershipmanagemt.model.dto.response.MemberTypeaheadResponse(
+        m.memberId, m.fullName, m.phoneNumber, m.email, m.memberStatus, m.photoUrl
+    )
+    FROM Member m
+""")
+    List<MemberTypeaheadResponse> findAllTypeaheadEntries();
+
+    @Query("""
+    SELECT m.memberId FROM Member m
+    WHERE m.memberId IN :memberIds
+""")
+    List<String> findExistingMemberIds(@Param("memberIds") Collection<String> memberIds);
+
+    @Modifying
+    @Query("""
+    UPDATE Member m
+    SET m.currentMembershipId = :membershipId,
+        m.currentMembershipEndDate = :endDate,
+        m.currentMembershipStatus = :status
+    WHERE m.memberId = :memberId
+        AND (m.currentMembershipEndDate IS NULL OR m.currentMembershipEndDate <= :endDate)
+""")
+    int updateCurrentMembershipIfLatest(@Param("memberId") String memberId,
+                                        @Param("membershipId") String membershipId,
+                                        @Param("endDate") LocalDate endDate,
+                                        @Param("status") MembershipStatus status);
+
+    @Modifying
+    @Query("""
+    UPDATE Member m
+    SET m.currentMembershipStatus = :status
+    WHERE m.currentMembershipId IN :membershipIds
+""")
+    int updateCurrentMembershipStatus(@Param("membershipIds") Collection<String> membershipIds,
+                                      @Param("status") MembershipStatus status);
+
+    @Query("""
+    SELECT m.memberId FROM Member m
+    WHERE m.currentMembershipId IN :membershipIds
+        AND m.memberStatus = :memberStatus
+""")
+    List<String> findMemberIdsByCurrentMembership(@Param("membershipIds") Collection<String> membershipIds,
+                                                  @Param("memberStatus") String memberStatus);
+
+    /**
+     * Marks the members inactive on behalf of the expiry job, skipping any that are not active, so
+     * running it again for the same members changes nothing.
+     */
+    @Modifying
+    @Query("""
+    UPDATE Member m
+    SET m.memberStatus = :inactive, m.inactiveByExpiry = true, m.updatedAt = :updatedAt
+    WHERE m.memberId IN :memberIds
+        AND m.memberStatus = :active
+""")
+    int deactivateOnExpiry(@Param("memberIds") Collection<String> memberIds,
+                           @Param("active") String active,
+                           @Param("inactive") String inactive,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Reactivates the member only if the expiry job deactivated them.
+     */
+    @Modifying
+    @Query("""
+    UPDATE Member m
+    SET m.memberStatus = :active, m.inactiveByExpiry = false, m.updatedAt = :updatedAt
+    WHERE m.memberId = :memberId
+        AND m.memberStatus = :inactive
+        AND m.inactiveByExpiry = true
+""")
+    int reactivateAfterExpiry(@Param("memberId") String memberId,
+                              @Param("active") String active,
+                              @Param("inactive") String inactive,
+                              @Param("updatedAt") LocalDateTime updatedAt);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+    SELECT m FROM Member m
+    ORDER BY m.memberId
+""")
+    Stream<Member> streamAllForExport();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+    SELECT new com.jatana.gymmembershipmanagemt.model.dto.projection.MemberAnalyticsProjection(
+        m.gender, m.memberStatus, m.dateOfBirth, m.currentMembershipEndDate
+    )
+    FROM Member m
+""")
+    Stream<MemberAnalyticsProjection> streamAnalyticsRows();
+}
@@ -1,11 +1,24 @@
 package com.jatana.gymmembershipmanagemt.repo;
 
 import com.jatana.gymmembershipmanagemt.model.Membership;
+import com.jatana.gymmembershipmanagemt.model.dto.projection.MembershipAnalyticsProjection;
+import com.jatana.gymmembershipmanagemt.model.enums.MembershipStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MembershipRepo extends JpaRepository<Membership, String> {
@@ -14,4 +27,47 @@ public interface MembershipRepo extends JpaRepository<Membership, String> {
 
 
     Optional<Membership> findTopByMemberIdOrderByEndDateDesc(String memberId);
+
+    @Query("""
+    SELECT ms.membershipId FROM Membership ms
+    WHERE ms.membershipStatus = :status
+        AND ms.endDate > :after
+        AND ms.endDate < :before
+    ORDER BY ms.endDate, ms.membershipId
+""")
+    List<String> findMembershipIdsEndingBetween(@Param("status") MembershipStatus status,
+                                                @Param("after") LocalDate after,
+                                                @Param("before") LocalDate before,
+                                                Limit limit);
+
+    @Modifying
+    @Query("""
+    UPDATE Membership ms
+    SET ms.membershipStatus = :newStatus, ms.updatedAt = :updatedAt
+    WHERE ms.membershipId IN :membershipIds
+        AND ms.membershipStatus = :oldStatus
+""")
+    int updateMembershipStatus(@Param("membershipIds") Collection<String> membershipIds,
+                               @Param("oldStatus") MembershipStatus oldStatus,
+                               @Param("newStatus") MembershipStatus newStatus,
+                               @Param("updatedAt") LocalDateTime updatedAt);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+    SELECT ms FROM Membership ms
+    ORDER BY ms.membershipId
+""")
+    Stream<Membership> streamAllForExport();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+    SELECT new com.jatana.gymmembershipmanagemt.model.dto.projection.MembershipAnalyticsProjection(
+        ms.planId, ms.membershipStatus, ms.pricePaid
+    )
+    FROM Membership ms
+""")
+    Stream<MembershipAnalyticsProjection> streamAnalyticsRows();
 }
@@ -0,0 +1,50 @@
+package com.jatana.gymmembershipmanagemt.repo;
+
+import com.jatana.gymmembershipmanagemt.model.OrphanedDocumentBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrphanedDocumentBlobRepo extends JpaRepository<OrphanedDocumentBlob, String> {
+
+    /**
+     * Marks the blob orphaned, restarting its grace period if it already was.
+     */
+    @Modifying
+    @Query(value = """
+    INSERT INTO orphaned_document_blob (storage_key, orphaned_at)
+    VALUES (:storageKey, :orphanedAt)
+    ON CONFLICT (storage_key) DO UPDATE
+    SET orphaned_at = EXCLUDED.orphaned_at
+""", nativeQuery = true)
+    int markOrphaned(@Param("storageKey") String storageKey,
+                     @Param("orphanedAt") LocalDateTime orphanedAt);
+
+    /**
+     * Removes the orphan mark. Blocks while a cleanup holds the mark's row lock, so by the time it
+     * returns the blob has either been kept or already deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM OrphanedDocumentBlob b WHERE b.storageKey = :storageKey")
+    int unmark(@Param("storageKey") String storageKey);
+
+    /**
+     * Locks up to {@code limit} blobs orphaned before the cutoff, oldest first, skipping those that
+     * another instance is cleaning up or an upload is claiming.
+     */
+    @Query(value = """
+    SELECT storage_key FROM orphaned_document_blob
+    WHERE orphaned_at < :cutoff
+    ORDER BY orphaned_at
+    LIMIT :limit
+    FOR UPDATE SKIP LOCKED
+""", nativeQuery = true)
+    List<String> lockOrphanedBefore(@Param("cutoff") LocalDateTime cutoff,
+                                    @Param("limit") int limit);
+}
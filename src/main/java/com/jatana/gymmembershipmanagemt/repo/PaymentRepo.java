@@ -2,12 +2,17 @@ package com.jatana.gymmembershipmanagemt.repo;
 
 import com.jatana.gymmembershipmanagemt.model.Payment;
 import com.jatana.gymmembershipmanagemt.model.dto.response.PaymentResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepo extends JpaRepository<Payment, String> {
@@ -18,4 +23,29 @@ public interface PaymentRepo extends JpaRepository<Payment, String> {
         
 """)
     List<Payment> getPaymentsByMembershipId(@Param("membershipId") String membershipId);
+
+    @Query("""
+        select p from Payment p
+        join Membership ms on ms.membershipId = p.membershipId
+        where ms.memberId = :memberId
+""")
+    List<Payment> getPaymentsByMemberId(@Param("memberId") String memberId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        select p from Payment p
+        order by p.paymentId
+""")
+    Stream<Payment> streamAllForExport();
+
+    /**
+     * Blocks new payments until the current transaction ends, after waiting for transactions that
+     * are already inserting one to finish. Reads of the table are not blocked.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE payment IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockAgainstNewPayments();
 }
@@ -0,0 +1,60 @@
+package com.jatana.gymmembershipmanagemt.repo;
+
+import com.jatana.gymmembershipmanagemt.model.RevenueDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RevenueDailyRollupRepo extends JpaRepository<RevenueDailyRollup, String> {
+
+    List<RevenueDailyRollup> findByRevenueDateBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Adds one payment to its rollup row, creating the row on first use. Atomic under concurrent
+     * payments for the same day, plan and method. {@code paymentMethod} is the enum ordinal, as the
+     * column is stored.
+     */
+    @Modifying
+    @Query(value = """
+    INSERT INTO revenue_daily_rollup (rollup_id, revenue_date, plan_id, payment_method, payment_count, revenue)
+    VALUES (:rollupId, :revenueDate, :planId, :paymentMethod, 1, :amount)
+    ON CONFLICT (rollup_id) DO UPDATE
+    SET payment_count = revenue_daily_rollup.payment_count + 1,
+        revenue = revenue_daily_rollup.revenue + EXCLUDED.revenue
+""", nativeQuery = true)
+    int addPayment(@Param("rollupId") String rollupId,
+                   @Param("revenueDate") LocalDate revenueDate,
+                   @Param("planId") String planId,
+                   @Param("paymentMethod") Integer paymentMethod,
+                   @Param("amount") double amount);
+
+    /**
+     * Recomputes every rollup row from the payment table, overwriting rather than adding, so it can
+     * be repeated. A payment committed after the query starts would have its rollup increment
+     * overwritten, so the caller must hold {@link PaymentRepo#lockAgainstNewPayments()}.
+     */
+    @Modifying
+    @Query(value = """
+    INSERT INTO revenue_daily_rollup (rollup_id, revenue_date, plan_id, payment_method, payment_count, revenue)
+    SELECT CONCAT(CAST(p.payment_date AS varchar), '|', COALESCE(p.plan_id, ''), '|',
+               COALESCE(CAST(p.payment_method AS varchar), '')),
+           p.payment_date, p.plan_id, p.payment_method, COUNT(*), SUM(p.price_paid)
+    FROM (
+        SELECT CAST(COALESCE(pay.payment_date_time, pay.created_at) AS date) AS payment_date,
+               ms.plan_id, pay.payment_method, pay.price_paid
+        FROM payment pay
+        LEFT JOIN membership ms ON ms.membership_id = pay.membership_id
+    ) p
+    GROUP BY p.payment_date, p.plan_id, p.payment_method
+    ON CONFLICT (rollup_id) DO UPDATE
+    SET payment_count = EXCLUDED.payment_count,
+        revenue = EXCLUDED.revenue
+""", nativeQuery = true)
+    int rebuildFromPayments();
+}
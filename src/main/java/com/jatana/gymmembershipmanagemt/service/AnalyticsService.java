@@ -0,0 +1,178 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.jatana.gymmembershipmanagemt.model.dto.projection.MemberAnalyticsProjection;
+import com.jatana.gymmembershipmanagemt.model.dto.projection.MembershipAnalyticsProjection;
+import com.jatana.gymmembershipmanagemt.model.dto.response.AnalyticsSummaryResponse;
+import com.jatana.gymmembershipmanagemt.model.dto.response.PlanMixResponse;
+import com.jatana.gymmembershipmanagemt.model.enums.Gender;
+import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
+import com.jatana.gymmembershipmanagemt.repo.MembershipRepo;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Gym-wide dashboard numbers computed from an in-memory {@link AnalyticsSnapshot}.
+ * <p>
+ * The snapshot is rebuilt every {@code analytics.snapshot.refresh-interval} by streaming narrow
+ * projections of members and memberships into primitive columns, and swapped in atomically. Reads
+ * only scan those columns, so dashboards never query the database or load entities, and figures are
+ * at most one refresh interval old.
+ */
+@Slf4j
+@Service
+public class AnalyticsService {
+
+    public static final int CHURN_WINDOW_DAYS = 30;
+
+    private static final int[] AGE_GROUP_MIN_AGES = {0, 18, 25, 35, 45, 55, 65};
+    private static final String NO_VALUE_KEY = "NONE";
+
+    @Autowired
+    private MemberRepo memberRepo;
+
+    @Autowired
+    private MembershipRepo membershipRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private volatile AnalyticsSnapshot snapshot;
+
+    @PostConstruct
+    void createReadOnlyTransaction() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildInitialSnapshot() {
+        refreshSnapshot();
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.snapshot.refresh-interval:PT5M}",
+            initialDelayString = "${analytics.snapshot.refresh-interval:PT5M}")
+    public void refreshSnapshot() {
+        try {
+            rebuildSnapshot();
+        } catch (Exception e) {
+            // Keep serving the previous snapshot
+            log.error("Failed to rebuild analytics snapshot. Error: {}", e.getMessage(), e);
+        }
+    }
+
+    private synchronized AnalyticsSnapshot rebuildSnapshot() {
+        long startedAt = System.nanoTime();
+        AnalyticsSnapshot.Builder builder = new AnalyticsSnapshot.Builder(
+                (int) memberRepo.count(), (int) membershipRepo.count());
+
+        // Streaming needs an open transaction for the cursor; rows are copied into the columns and
+        // dropped immediately
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<MemberAnalyticsProjection> members = memberRepo.streamAnalyticsRows()) {
+                members.forEach(builder::addMember);
+            }
+            try (Stream<MembershipAnalyticsProjection> memberships = membershipRepo.streamAnalyticsRows()) {
+                memberships.forEach(builder::addMembership);
+            }
+        });
+
+        AnalyticsSnapshot built = builder.build();
+        snapshot = built;
+        log.info("Rebuilt analytics snapshot - members: {}, memberships: {}, plans: {}, took {} ms",
+                built.memberCount, built.membershipCount, built.planDictionary.length,
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return built;
+    }
+
+    // Requests that arrive before the first build wait for it and share it, instead of each
+    // rebuilding in turn once the lock is free
+    private synchronized AnalyticsSnapshot initialSnapshot() {
+        AnalyticsSnapshot current = snapshot;
+        return current != null ? current : rebuildSnapshot();
+    }
+
+    public AnalyticsSummaryResponse getSummary() {
+        log.info("Building analytics summary");
+
+        try {
+            AnalyticsSnapshot current = snapshot;
+            if (current == null) {
+                // First request raced the startup build
+                current = initialSnapshot();
+            }
+
+            LocalDate today = LocalDate.now();
+
+            Map<String, Long> byGender = new LinkedHashMap<>();
+            long[] genderCounts = current.countActiveMembersByGender();
+            for (Gender gender : Gender.values()) {
+                byGender.put(gender.name(), genderCounts[AnalyticsSnapshot.encode(gender)]);
+            }
+            if (genderCounts[AnalyticsSnapshot.NULL_CODE] > 0) {
+                byGender.put(NO_VALUE_KEY, genderCounts[AnalyticsSnapshot.NULL_CODE]);
+            }
+
+            Map<String, Long> byAge = new LinkedHashMap<>();
+            long[] ageCounts = current.countActiveMembersByAge(today, AGE_GROUP_MIN_AGES);
+            for (int g = 0; g < AGE_GROUP_MIN_AGES.length; g++) {
+                String label = g + 1 < AGE_GROUP_MIN_AGES.length
+                        ? AGE_GROUP_MIN_AGES[g] + "-" + (AGE_GROUP_MIN_AGES[g + 1] - 1)
+                        : AGE_GROUP_MIN_AGES[g] + "+";
+                byAge.put(label, ageCounts[g]);
+            }
+            if (ageCounts[AGE_GROUP_MIN_AGES.length] > 0) {
+                byAge.put(NO_VALUE_KEY, ageCounts[AGE_GROUP_MIN_AGES.length]);
+            }
+
+            double[] planRevenue = new double[current.planDictionary.length + 1];
+            long[] planCounts = current.countActiveMembershipsByPlan(planRevenue);
+            List<PlanMixResponse> planMix = new ArrayList<>();
+            for (int code = 0; code < planCounts.length; code++) {
+                if (planCounts[code] > 0) {
+                    String planId = code < current.planDictionary.length ? current.planDictionary[code] : NO_VALUE_KEY;
+                    planMix.add(new PlanMixResponse(planId, planCounts[code], planRevenue[code]));
+                }
+            }
+            planMix.sort(Comparator.comparingLong(PlanMixResponse::activeMemberships).reversed());
+
+            long[] churn = current.countChurn(today.minusDays(CHURN_WINDOW_DAYS), today);
+            long churned = churn[0];
+            long retained = churn[1];
+            double churnRate = churned + retained == 0 ? 0 : (double) churned / (churned + retained);
+
+            log.info("Successfully built analytics summary from snapshot built at {}", current.builtAt);
+            return new AnalyticsSummaryResponse(
+                    current.builtAt,
+                    current.memberCount,
+                    current.countActiveMembers(),
+                    byGender,
+                    byAge,
+                    planMix,
+                    CHURN_WINDOW_DAYS,
+                    churned,
+                    churnRate
+            );
+
+        } catch (Exception e) {
+            log.error("Failed to build analytics summary. Error: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to build analytics summary", e);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.jatana.gymmembershipmanagemt.model.dto.projection.MemberAnalyticsProjection;
+import com.jatana.gymmembershipmanagemt.model.dto.projection.MembershipAnalyticsProjection;
+import com.jatana.gymmembershipmanagemt.model.enums.Gender;
+import com.jatana.gymmembershipmanagemt.model.enums.MemberStatus;
+import com.jatana.gymmembershipmanagemt.model.enums.MembershipStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable column store of members and memberships for analytics.
+ * <p>
+ * Each attribute is one primitive array indexed by row. Enums are dictionary-encoded as
+ * {@code ordinal + 1} in a byte, with {@link #NULL_CODE} for a missing value; plan IDs are encoded
+ * as an index into {@link #planDictionary}; dates are epoch days with {@link #NO_DATE} for a missing
+ * value. Aggregations are plain counted loops over these arrays, which the JIT compiles to tight,
+ * largely vectorized code and which allocate nothing per row.
+ */
+final class AnalyticsSnapshot {
+
+    static final byte NULL_CODE = 0;
+    static final int NO_DATE = Integer.MIN_VALUE;
+    static final int NO_PLAN = -1;
+
+    private static final byte ACTIVE_MEMBER = encode(MemberStatus.ACTIVE);
+    private static final byte ACTIVE_MEMBERSHIP = encode(MembershipStatus.ACTIVE);
+
+    final LocalDateTime builtAt;
+
+    final int memberCount;
+    final byte[] memberGender;
+    final byte[] memberStatus;
+    final int[] memberBirthDay;
+    final int[] memberCurrentEndDay;
+
+    final int membershipCount;
+    final String[] planDictionary;
+    final int[] membershipPlan;
+    final byte[] membershipStatus;
+    final double[] membershipPrice;
+
+    private AnalyticsSnapshot(Builder builder) {
+        builtAt = LocalDateTime.now();
+        memberCount = builder.memberCount;
+        memberGender = Arrays.copyOf(builder.memberGender, memberCount);
+        memberStatus = Arrays.copyOf(builder.memberStatus, memberCount);
+        memberBirthDay = Arrays.copyOf(builder.memberBirthDay, memberCount);
+        memberCurrentEndDay = Arrays.copyOf(builder.memberCurrentEndDay, memberCount);
+
+        membershipCount = builder.membershipCount;
+        planDictionary = new String[builder.planCodes.size()];
+        builder.planCodes.forEach((planId, code) -> planDictionary[code] = planId);
+        membershipPlan = Arrays.copyOf(builder.membershipPlan, membershipCount);
+        membershipStatus = Arrays.copyOf(builder.membershipStatus, membershipCount);
+        membershipPrice = Arrays.copyOf(builder.membershipPrice, membershipCount);
+    }
+
+    long countActiveMembers() {
+        long count = 0;
+        for (int i = 0; i < memberCount; i++) {
+            count += memberStatus[i] == ACTIVE_MEMBER ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Active members per gender, indexed by gender code.
+     */
+    long[] countActiveMembersByGender() {
+        long[] counts = new long[Gender.values().length + 1];
+        for (int i = 0; i < memberCount; i++) {
+            if (memberStatus[i] == ACTIVE_MEMBER) {
+                counts[memberGender[i]]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Active members per age group. Group {@code g} holds members at least {@code minAges[g]} years
+     * old and younger than {@code minAges[g + 1]}; the last slot counts members without a birth date.
+     */
+    long[] countActiveMembersByAge(LocalDate today, int[] minAges) {
+        // Birthday cut-offs turn an exact age check into one integer comparison per group
+        int[] latestBirthDay = new int[minAges.length];
+        for (int g = 0; g < minAges.length; g++) {
+            latestBirthDay[g] = (int) today.minusYears(minAges[g]).toEpochDay();
+        }
+
+        long[] counts = new long[minAges.length + 1];
+        for (int i = 0; i < memberCount; i++) {
+            if (memberStatus[i] != ACTIVE_MEMBER) {
+                continue;
+            }
+            int birthDay = memberBirthDay[i];
+            if (birthDay == NO_DATE) {
+                counts[minAges.length]++;
+                continue;
+            }
+            int group = 0;
+            for (int g = 1; g < minAges.length; g++) {
+                group += birthDay <= latestBirthDay[g] ? 1 : 0;
+            }
+            counts[group]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Active memberships per plan code. {@code revenue} receives the amount paid per plan code; the
+     * last slot of both arrays is for memberships without a plan.
+     */
+    long[] countActiveMembershipsByPlan(double[] revenue) {
+        int noPlanSlot = planDictionary.length;
+        long[] counts = new long[noPlanSlot + 1];
+        for (int i = 0; i < membershipCount; i++) {
+            if (membershipStatus[i] == ACTIVE_MEMBERSHIP) {
+                int slot = membershipPlan[i] == NO_PLAN ? noPlanSlot : membershipPlan[i];
+                counts[slot]++;
+                revenue[slot] += membershipPrice[i];
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Returns {@code [churned, retained]}: members whose current membership ended in
+     * {@code [windowStart, today)}, and members whose current membership ends today or later.
+     */
+    long[] countChurn(LocalDate windowStart, LocalDate today) {
+        int from = (int) windowStart.toEpochDay();
+        int until = (int) today.toEpochDay();
+        long churned = 0;
+        long retained = 0;
+        for (int i = 0; i < memberCount; i++) {
+            int endDay = memberCurrentEndDay[i];
+            churned += endDay >= from && endDay < until ? 1 : 0;
+            retained += endDay >= until ? 1 : 0;
+        }
+        return new long[]{churned, retained};
+    }
+
+    static <E extends Enum<E>> byte encode(E value) {
+        return value == null ? NULL_CODE : (byte) (value.ordinal() + 1);
+    }
+
+    private static <E extends Enum<E>> byte encode(String name, Class<E> type) {
+        if (name == null) {
+            return NULL_CODE;
+        }
+        try {
+            return encode(Enum.valueOf(type, name));
+        } catch (IllegalArgumentException e) {
+            return NULL_CODE;
+        }
+    }
+
+    private static int epochDay(LocalDate date) {
+        return date == null ? NO_DATE : (int) date.toEpochDay();
+    }
+
+    /**
+     * Appends rows into growable arrays; {@link #build()} trims them into an immutable snapshot.
+     */
+    static final class Builder {
+        private int memberCount;
+        private byte[] memberGender;
+        private byte[] memberStatus;
+        private int[] memberBirthDay;
+        private int[] memberCurrentEndDay;
+
+        private int membershipCount;
+        private final Map<String, Integer> planCodes = new HashMap<>();
+        private int[] membershipPlan;
+        private byte[] membershipStatus;
+        private double[] membershipPrice;
+
+        Builder(int expectedMembers, int expectedMemberships) {
+            int members = Math.max(16, expectedMembers);
+            memberGender = new byte[members];
+            memberStatus = new byte[members];
+            memberBirthDay = new int[members];
+            memberCurrentEndDay = new int[members];
+
+            int memberships = Math.max(16, expectedMemberships);
+            membershipPlan = new int[memberships];
+            membershipStatus = new byte[memberships];
+            membershipPrice = new double[memberships];
+        }
+
+        void addMember(MemberAnalyticsProjection member) {
+            if (memberCount == memberGender.length) {
+                int capacity = memberCount + (memberCount >> 1);
+                memberGender = Arrays.copyOf(memberGender, capacity);
+                memberStatus = Arrays.copyOf(memberStatus, capacity);
+                memberBirthDay = Arrays.copyOf(memberBirthDay, capacity);
+                memberCurrentEndDay = Arrays.copyOf(memberCurrentEndDay, capacity);
+            }
+            memberGender[memberCount] = encode(member.gender(), Gender.class);
+            memberStatus[memberCount] = encode(member.memberStatus(), MemberStatus.class);
+            memberBirthDay[memberCount] = epochDay(member.dateOfBirth());
+            memberCurrentEndDay[memberCount] = epochDay(member.currentMembershipEndDate());
+            memberCount++;
+        }
+
+        void addMembership(MembershipAnalyticsProjection membership) {
+            if (membershipCount == membershipPlan.length) {
+                int capacity = membershipCount + (membershipCount >> 1);
+                membershipPlan = Arrays.copyOf(membershipPlan, capacity);
+                membershipStatus = Arrays.copyOf(membershipStatus, capacity);
+                membershipPrice = Arrays.copyOf(membershipPrice, capacity);
+            }
+            membershipPlan[membershipCount] = membership.planId() == null
+                    ? NO_PLAN
+                    : planCodes.computeIfAbsent(membership.planId(), planId -> planCodes.size());
+            membershipStatus[membershipCount] = encode(membership.membershipStatus());
+            membershipPrice[membershipCount] = membership.pricePaid();
+            membershipCount++;
+        }
+
+        AnalyticsSnapshot build() {
+            return new AnalyticsSnapshot(this);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jatana.gymmembershipmanagemt.model.Member;
+import com.jatana.gymmembershipmanagemt.model.Membership;
+import com.jatana.gymmembershipmanagemt.model.Payment;
+import com.jatana.gymmembershipmanagemt.model.enums.ExportFormat;
+import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
+import com.jatana.gymmembershipmanagemt.repo.MembershipRepo;
+import com.jatana.gymmembershipmanagemt.repo.PaymentRepo;
+import com.jatana.gymmembershipmanagemt.util.Csv;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables as CSV or NDJSON in constant memory.
+ * <p>
+ * Rows are read through a forward-only JDBC cursor: the PostgreSQL driver only honours the fetch
+ * size hint inside a transaction, so each export runs in one read-only transaction and holds a
+ * pooled connection until the last row is written. Every entity is detached once written so the
+ * persistence context does not grow with the table.
+ */
+@Slf4j
+@Service
+public class DataExportService {
+
+    private static final int WRITER_BUFFER_SIZE = 64 * 1024;
+
+    private record ExportColumn<T>(String name, Function<T, Object> value) {
+    }
+
+    private static final List<ExportColumn<Member>> MEMBER_COLUMNS = List.of(
+            new ExportColumn<>("memberId", Member::getMemberId),
+            new ExportColumn<>("firstName", Member::getFirstName),
+            new ExportColumn<>("lastName", Member::getLastName),
+            new ExportColumn<>("dateOfBirth", Member::getDateOfBirth),
+            new ExportColumn<>("gender", Member::getGender),
+            new ExportColumn<>("phoneNumber", Member::getPhoneNumber),
+            new ExportColumn<>("email", Member::getEmail),
+            new ExportColumn<>("address", Member::getAddress),
+            new ExportColumn<>("memberStatus", Member::getMemberStatus),
+            new ExportColumn<>("photoUrl", Member::getPhotoUrl),
+            new ExportColumn<>("createdAt", Member::getCreatedAt),
+            new ExportColumn<>("updatedAt", Member::getUpdatedAt)
+    );
+
+    private static final List<ExportColumn<Membership>> MEMBERSHIP_COLUMNS = List.of(
+            new ExportColumn<>("membershipId", Membership::getMembershipId),
+            new ExportColumn<>("memberId", Membership::getMemberId),
+            new ExportColumn<>("planId", Membership::getPlanId),
+            new ExportColumn<>("startDate", Membership::getStartDate),
+            new ExportColumn<>("endDate", Membership::getEndDate),
+            new ExportColumn<>("pricePaid", Membership::getPricePaid),
+            new ExportColumn<>("membershipStatus", Membership::getMembershipStatus),
+            new ExportColumn<>("createdAt", Membership::getCreatedAt),
+            new ExportColumn<>("updatedAt", Membership::getUpdatedAt)
+    );
+
+    private static final List<ExportColumn<Payment>> PAYMENT_COLUMNS = List.of(
+            new ExportColumn<>("paymentId", Payment::getPaymentId),
+            new ExportColumn<>("membershipId", Payment::getMembershipId),
+            new ExportColumn<>("pricePaid", Payment::getPricePaid),
+            new ExportColumn<>("paymentDateTime", Payment::getPaymentDateTime),
+            new ExportColumn<>("paymentMethod", Payment::getPaymentMethod),
+            new ExportColumn<>("transactionId", Payment::getTransactionId),
+            new ExportColumn<>("receiptUrl", Payment::getReceiptUrl),
+            new ExportColumn<>("createdAt", Payment::getCreatedAt)
+    );
+
+    @Autowired
+    private MemberRepo memberRepo;
+
+    @Autowired
+    private MembershipRepo membershipRepo;
+
+    @Autowired
+    private PaymentRepo paymentRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void createReadOnlyTransaction() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void exportMembers(ExportFormat format, OutputStream out) {
+        export("members", MEMBER_COLUMNS, memberRepo::streamAllForExport, format, out);
+    }
+
+    public void exportMemberships(ExportFormat format, OutputStream out) {
+        export("memberships", MEMBERSHIP_COLUMNS, membershipRepo::streamAllForExport, format, out);
+    }
+
+    public void exportPayments(ExportFormat format, OutputStream out) {
+        export("payments", PAYMENT_COLUMNS, paymentRepo::streamAllForExport, format, out);
+    }
+
+    private <T> void export(String name, List<ExportColumn<T>> columns, Supplier<Stream<T>> query,
+                            ExportFormat format, OutputStream out) {
+        log.info("Starting {} export as {}", name, format);
+        long startedAt = System.nanoTime();
+
+        long rowCount = readOnlyTransaction.execute(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITER_BUFFER_SIZE);
+            try (Stream<T> rows = query.get()) {
+                if (format == ExportFormat.CSV) {
+                    writer.write(columns.stream().map(ExportColumn::name).collect(Collectors.joining(",")));
+                    writer.write('\n');
+                }
+
+                long count = 0;
+                for (Iterator<T> iterator = rows.iterator(); iterator.hasNext(); count++) {
+                    T row = iterator.next();
+                    writer.write(format == ExportFormat.CSV ? toCsv(columns, row) : toJson(columns, row));
+                    writer.write('\n');
+                    entityManager.detach(row);
+                }
+                writer.flush();
+                return count;
+
+            } catch (IOException e) {
+                // Usually the client went away; the cursor and transaction are released by the rollback
+                throw new UncheckedIOException("Failed to write " + name + " export", e);
+            }
+        });
+
+        log.info("Finished {} export - rows: {}, took {} ms", name, rowCount, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private static <T> String toCsv(List<ExportColumn<T>> columns, T row) {
+        StringBuilder line = new StringBuilder(256);
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(Csv.escapeForSpreadsheet(columns.get(i).value().apply(row)));
+        }
+        return line.toString();
+    }
+
+    private <T> String toJson(List<ExportColumn<T>> columns, T row) throws IOException {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (ExportColumn<T> column : columns) {
+            values.put(column.name(), column.value().apply(row));
+        }
+        return objectMapper.writeValueAsString(values);
+    }
+}
@@ -0,0 +1,135 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.jatana.gymmembershipmanagemt.repo.MemberDocumentRepo;
+import com.jatana.gymmembershipmanagemt.repo.OrphanedDocumentBlobRepo;
+import com.jatana.gymmembershipmanagemt.service.storage.DocumentStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deletes stored blobs once no document references them.
+ * <p>
+ * Blobs are keyed by content hash and shared by every document with the same content, so a blob is
+ * only released after a count by content hash, in the transaction that removed the last reference,
+ * finds no row left. Releasing marks the blob orphaned instead of deleting it: an upload that
+ * started earlier may already have decided to reuse it. Uploads claim their content, removing any
+ * mark, both before they reuse or store it and again in the transaction that saves the row.
+ * <p>
+ * Every {@code document.cleanup.interval} the marks older than {@code document.cleanup.grace-period}
+ * are locked, references are counted again, and unreferenced blobs are deleted together with the
+ * photo thumbnail derived from them. A claim waits for that lock, so a blob is never deleted under
+ * an upload that claimed it.
+ */
+@Slf4j
+@Service
+public class DocumentBlobCleanupService {
+
+    @Autowired
+    private MemberDocumentRepo memberDocumentRepo;
+
+    @Autowired
+    private OrphanedDocumentBlobRepo orphanedDocumentBlobRepo;
+
+    @Autowired
+    private DocumentStorage documentStorage;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${document.cleanup.grace-period:PT1H}")
+    private Duration gracePeriod;
+
+    @Value("${document.cleanup.batch-size:100}")
+    private int batchSize;
+
+    private record ChunkResult(int selected, int deleted, int kept, int failed) {
+    }
+
+    /**
+     * Protects the content from cleanup because a document is about to reference it.
+     */
+    @Transactional
+    public void claim(String contentHash) {
+        if (orphanedDocumentBlobRepo.unmark(contentHash) > 0) {
+            log.debug("Claimed orphaned document content - storage key: {}", contentHash);
+        }
+    }
+
+    /**
+     * Marks the content orphaned if no document references it any more. Joins the caller's
+     * transaction, so the count sees the caller's own changes.
+     */
+    @Transactional
+    public void releaseIfUnreferenced(String contentHash) {
+        if (memberDocumentRepo.countByContentHash(contentHash) == 0) {
+            orphanedDocumentBlobRepo.markOrphaned(contentHash, LocalDateTime.now());
+            log.debug("Document content no longer referenced - storage key: {}", contentHash);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${document.cleanup.interval:PT15M}",
+            initialDelayString = "${document.cleanup.interval:PT15M}")
+    public void deleteOrphanedBlobs() {
+        deleteOrphanedBlobs(LocalDateTime.now().minus(gracePeriod));
+    }
+
+    void deleteOrphanedBlobs(LocalDateTime orphanedBefore) {
+        try {
+            int deleted = 0;
+            int kept = 0;
+            while (true) {
+                ChunkResult chunk = transactionTemplate.execute(status -> deleteChunk(orphanedBefore));
+                deleted += chunk.deleted();
+                kept += chunk.kept();
+                // Failed blobs stay marked and would be selected again, so retry them on the next run
+                if (chunk.selected() < batchSize || chunk.failed() > 0) {
+                    break;
+                }
+            }
+
+            if (deleted > 0 || kept > 0) {
+                log.info("Finished orphaned document cleanup - deleted blobs: {}, referenced again: {}",
+                        deleted, kept);
+            }
+        } catch (Exception e) {
+            log.error("Failed to clean up orphaned documents. Error: {}", e.getMessage(), e);
+        }
+    }
+
+    private ChunkResult deleteChunk(LocalDateTime orphanedBefore) {
+        List<String> storageKeys = orphanedDocumentBlobRepo.lockOrphanedBefore(orphanedBefore, batchSize);
+        int deleted = 0;
+        int kept = 0;
+        int failed = 0;
+
+        for (String storageKey : storageKeys) {
+            if (memberDocumentRepo.countByContentHash(storageKey) > 0) {
+                orphanedDocumentBlobRepo.unmark(storageKey);
+                kept++;
+                continue;
+            }
+
+            try {
+                documentStorage.delete(storageKey);
+                documentStorage.delete(MemberDocumentService.thumbnailKey(storageKey));
+                orphanedDocumentBlobRepo.unmark(storageKey);
+                deleted++;
+            } catch (Exception e) {
+                log.error("Failed to delete orphaned document from storage - storage key: {}. Error: {}",
+                        storageKey, e.getMessage(), e);
+                failed++;
+            }
+        }
+
+        return new ChunkResult(storageKeys.size(), deleted, kept, failed);
+    }
+}
@@ -0,0 +1,221 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jatana.gymmembershipmanagemt.model.dto.request.MemberDocumentUploadRequest;
+import com.jatana.gymmembershipmanagemt.model.dto.response.DocumentUploadJobResponse;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberDocumentResponse;
+import com.jatana.gymmembershipmanagemt.model.enums.DocType;
+import com.jatana.gymmembershipmanagemt.model.enums.DocumentUploadJobStatus;
+import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts document uploads into a bounded queue and stores them on a pool of worker threads, so the
+ * request thread only spools the file to disk and returns a job id.
+ * <p>
+ * The queue capacity also bounds how many spooled files can wait on disk; once it is full new
+ * uploads are rejected with {@link RejectedExecutionException} until workers catch up. Each queued
+ * job owns its spooled file: jobs abandoned at shutdown delete theirs, and files left by a process
+ * that was killed are swept by {@link MemberDocumentService} at startup. Failed attempts are
+ * retried with exponential backoff. Job state is kept in memory for
+ * {@code document.upload.job-retention} and is not recovered after a restart.
+ */
+@Slf4j
+@Service
+public class DocumentUploadJobService {
+
+    @Autowired
+    private MemberRepo memberRepo;
+
+    @Autowired
+    private MemberDocumentService memberDocumentService;
+
+    @Value("${document.upload.workers:4}")
+    private int workers;
+
+    @Value("${document.upload.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${document.upload.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${document.upload.retry-backoff:PT2S}")
+    private Duration retryBackoff;
+
+    @Value("${document.upload.job-retention:PT1H}")
+    private Duration jobRetention;
+
+    @Value("${document.upload.shutdown-timeout:PT30S}")
+    private Duration shutdownTimeout;
+
+    private ThreadPoolExecutor uploadExecutor;
+    private volatile boolean stopping;
+    private Cache<String, DocumentUploadJobResponse> jobs;
+
+    @PostConstruct
+    void startWorkers() {
+        uploadExecutor = new ThreadPoolExecutor(
+                workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("document-upload-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        jobs = Caffeine.newBuilder()
+                .expireAfterWrite(jobRetention)
+                .build();
+        log.info("Started document upload pipeline with {} worker(s) and queue capacity {}", workers, queueCapacity);
+    }
+
+    @PreDestroy
+    void stopWorkers() throws InterruptedException {
+        uploadExecutor.shutdown();
+        if (!uploadExecutor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            stopping = true;
+            List<Runnable> abandoned = uploadExecutor.shutdownNow();
+            for (Runnable runnable : abandoned) {
+                if (runnable instanceof UploadTask task) {
+                    update(task.jobId, DocumentUploadJobStatus.FAILED, 0, null, "Upload abandoned during shutdown");
+                    memberDocumentService.deleteSpooledFile(task.upload.file());
+                }
+            }
+            log.warn("Document upload pipeline stopped with {} queued job(s) abandoned", abandoned.size());
+        }
+    }
+
+    public DocumentUploadJobResponse submit(String memberId, MemberDocumentUploadRequest memberDocumentUploadRequest) {
+        DocType docType = memberDocumentUploadRequest.docType();
+        log.info("Queueing document upload - member ID: {}, doc type: {}", memberId, docType);
+
+        // Reject before spooling when the queue is already full
+        if (uploadExecutor.getQueue().remainingCapacity() == 0) {
+            log.warn("Document upload queue full - rejecting upload for member ID: {}", memberId);
+            throw new RejectedExecutionException("Document upload queue is full");
+        }
+
+        try {
+            if (!memberRepo.existsById(memberId)) {
+                log.error("Cannot queue document upload - Member not found with ID: {}", memberId);
+                throw new IllegalArgumentException("Member not found with ID: " + memberId);
+            }
+
+            SpooledUpload upload = memberDocumentService.spool(memberDocumentUploadRequest.file());
+
+            LocalDateTime now = LocalDateTime.now();
+            DocumentUploadJobResponse job = new DocumentUploadJobResponse(
+                    UUID.randomUUID().toString(), memberId, docType,
+                    DocumentUploadJobStatus.QUEUED, 0, null, null, now, now
+            );
+            jobs.put(job.jobId(), job);
+
+            try {
+                uploadExecutor.execute(new UploadTask(job.jobId(), upload));
+            } catch (RejectedExecutionException e) {
+                jobs.invalidate(job.jobId());
+                memberDocumentService.deleteSpooledFile(upload.file());
+                log.warn("Document upload queue full - rejecting upload for member ID: {}", memberId);
+                throw e;
+            }
+
+            log.info("Queued document upload - job ID: {}, member ID: {}, doc type: {}, queued jobs: {}",
+                    job.jobId(), memberId, docType, uploadExecutor.getQueue().size());
+            return job;
+
+        } catch (IllegalArgumentException | RejectedExecutionException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to queue document upload - member ID: {}, doc type: {}. Error: {}",
+                    memberId, docType, e.getMessage(), e);
+            throw new RuntimeException("Failed to queue document upload for member: " + memberId, e);
+        }
+    }
+
+    public Optional<DocumentUploadJobResponse> getJob(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId));
+    }
+
+    private void process(String jobId, SpooledUpload upload) {
+        try {
+            for (int attempt = 1; ; attempt++) {
+                DocumentUploadJobResponse job = update(jobId, DocumentUploadJobStatus.PROCESSING, attempt, null, null);
+                if (job == null) {
+                    log.warn("Document upload job expired before processing - job ID: {}", jobId);
+                    return;
+                }
+                try {
+                    MemberDocumentResponse document =
+                            memberDocumentService.storeSpooledDocument(job.memberId(), job.docType(), upload);
+                    update(jobId, DocumentUploadJobStatus.COMPLETED, attempt, document, null);
+                    log.info("Completed document upload - job ID: {}, document ID: {}, attempts: {}",
+                            jobId, document.documentId(), attempt);
+                    return;
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    // The member or request is no longer valid, retrying cannot help
+                    update(jobId, DocumentUploadJobStatus.FAILED, attempt, null, e.getMessage());
+                    log.error("Document upload failed permanently - job ID: {}. Error: {}", jobId, e.getMessage());
+                    return;
+                } catch (Exception e) {
+                    // An interrupted attempt usually fails like any other, so check for shutdown here
+                    if (attempt >= maxAttempts || stopping) {
+                        update(jobId, DocumentUploadJobStatus.FAILED, attempt, null, e.getMessage());
+                        log.error("Document upload failed after {} attempt(s) - job ID: {}. Error: {}",
+                                attempt, jobId, e.getMessage(), e);
+                        return;
+                    }
+                    Duration backoff = retryBackoff.multipliedBy(1L << (attempt - 1));
+                    update(jobId, DocumentUploadJobStatus.RETRYING, attempt, null, e.getMessage());
+                    log.warn("Document upload attempt {} failed - job ID: {}, retrying in {}. Error: {}",
+                            attempt, jobId, backoff, e.getMessage());
+                    Thread.sleep(backoff);
+                }
+            }
+        } catch (InterruptedException e) {
+            update(jobId, DocumentUploadJobStatus.FAILED, 0, null, "Upload interrupted during shutdown");
+            Thread.currentThread().interrupt();
+        } finally {
+            memberDocumentService.deleteSpooledFile(upload.file());
+        }
+    }
+
+    /**
+     * A queued job and the spooled file it owns, so whoever drops the job can delete the file.
+     */
+    private final class UploadTask implements Runnable {
+
+        private final String jobId;
+        private final SpooledUpload upload;
+
+        private UploadTask(String jobId, SpooledUpload upload) {
+            this.jobId = jobId;
+            this.upload = upload;
+        }
+
+        @Override
+        public void run() {
+            process(jobId, upload);
+        }
+    }
+
+    private DocumentUploadJobResponse update(String jobId, DocumentUploadJobStatus status, int attempts,
+                                             MemberDocumentResponse document, String error) {
+        return jobs.asMap().compute(jobId, (id, job) -> job == null ? null : new DocumentUploadJobResponse(
+                job.jobId(), job.memberId(), job.docType(), status,
+                Math.max(attempts, job.attempts()), document, error, job.submittedAt(), LocalDateTime.now()
+        ));
+    }
+}
@@ -1,6 +1,5 @@
 package com.jatana.gymmembershipmanagemt.service;
 
-import com.cloudinary.Cloudinary;
 import com.jatana.gymmembershipmanagemt.model.Member;
 import com.jatana.gymmembershipmanagemt.model.MemberDocument;
 import com.jatana.gymmembershipmanagemt.model.dto.request.MemberDocumentUploadRequest;
@@ -8,20 +7,42 @@ import com.jatana.gymmembershipmanagemt.model.dto.response.MemberDocumentRespons
 import com.jatana.gymmembershipmanagemt.model.enums.DocType;
 import com.jatana.gymmembershipmanagemt.repo.MemberDocumentRepo;
 import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
+import com.jatana.gymmembershipmanagemt.service.storage.DocumentStorage;
+import com.jatana.gymmembershipmanagemt.service.storage.StoredDocument;
+import com.jatana.gymmembershipmanagemt.util.ContentHash;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 @Slf4j
 @Service
 public class MemberDocumentService {
+
+    private static final String UPLOAD_TIMER = "member.document.upload";
+    private static final String UPLOAD_SIZE_SUMMARY = "member.document.upload.size";
     
     @Autowired
     private MemberRepo memberRepo;
@@ -30,36 +51,43 @@ public class MemberDocumentService {
     private MemberDocumentRepo memberDocumentRepo;
 
     @Autowired
-    private Cloudinary cloudinary;
+    private DocumentStorage documentStorage;
 
-    private String getImageUrl(String memberId, MemberDocumentUploadRequest memberDocumentUploadRequest) {
-        DocType docType = memberDocumentUploadRequest.docType();
-        String filename = memberId + "-" + docType.name();
-        
-        log.debug("Uploading document to Cloudinary - member ID: {}, doc type: {}, filename: {}", 
-                memberId, docType, filename);
+    @Autowired
+    private MemberTypeaheadService memberTypeaheadService;
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
+    @Autowired
+    private DocumentBlobCleanupService documentBlobCleanupService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${document.upload.spool-dir:${java.io.tmpdir}/gym-document-uploads}")
+    private Path spoolDirectory;
+
+    private StoredDocument storeDocument(String memberId, DocType docType, SpooledUpload upload) {
+        log.debug("Storing document - member ID: {}, doc type: {}, content hash: {}", 
+                memberId, docType, upload.contentHash());
         
         try {
-            long fileSize = memberDocumentUploadRequest.file().getSize();
+            long fileSize = Files.size(upload.file());
             log.debug("File size: {} bytes for member ID: {}, doc type: {}", 
                     fileSize, memberId, docType);
-            
-            Map<String, Object> params = Map.of(
-                    "public_id", filename,
-                    "overwrite", true
-            );
 
-            Map<String, Object> uploadedResult = cloudinary.uploader()
-                    .upload(memberDocumentUploadRequest.file().getBytes(), params);
-
-            String secureUrl = uploadedResult.get("secure_url").toString();
-            log.info("Successfully uploaded document to Cloudinary - member ID: {}, doc type: {}, URL: {}", 
-                    memberId, docType, secureUrl);
+            StoredDocument storedDocument = documentStorage.store(upload.contentHash(), upload.file());
+            log.info("Successfully stored document - member ID: {}, doc type: {}, URL: {}", 
+                    memberId, docType, storedDocument.url());
             
-            return secureUrl;
+            return storedDocument;
 
         } catch (IOException e) {
-            log.error("Failed to upload document to Cloudinary - member ID: {}, doc type: {}. Error: {}", 
+            log.error("Failed to upload document to storage - member ID: {}, doc type: {}. Error: {}", 
                     memberId, docType, e.getMessage(), e);
             throw new RuntimeException("Failed to upload document for member: " + memberId + ", type: " + docType, e);
         } catch (Exception e) {
@@ -69,7 +97,58 @@ public class MemberDocumentService {
         }
     }
 
-    @Transactional
+    /**
+     * Deletes spool files left behind by an earlier run, such as uploads that were still queued
+     * when the process was killed. Only files last written before this JVM started are removed, so
+     * another instance sharing the directory keeps its in-flight uploads.
+     */
+    @PostConstruct
+    void sweepSpoolDirectory() {
+        if (!Files.isDirectory(spoolDirectory)) {
+            return;
+        }
+        FileTime startedAt = FileTime.fromMillis(ManagementFactory.getRuntimeMXBean().getStartTime());
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spoolDirectory, "member-{doc,thumb}-*")) {
+            for (Path file : files) {
+                try {
+                    if (Files.getLastModifiedTime(file).compareTo(startedAt) < 0 && Files.deleteIfExists(file)) {
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    log.warn("Failed to delete stale spooled upload file: {}. Error: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to sweep spool directory: {}. Error: {}", spoolDirectory, e.getMessage());
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} stale spooled upload file(s) from {}", deleted, spoolDirectory);
+        }
+    }
+
+    SpooledUpload spool(MultipartFile file) throws IOException {
+        Files.createDirectories(spoolDirectory);
+        Path spooledFile = Files.createTempFile(spoolDirectory, "member-doc-", ".upload");
+        MessageDigest digest = ContentHash.newSha256Digest();
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            // The content hash is computed in the same pass that writes the spool file
+            long size = Files.copy(in, spooledFile, StandardCopyOption.REPLACE_EXISTING);
+            return new SpooledUpload(spooledFile, ContentHash.hex(digest), size);
+        } catch (IOException | RuntimeException e) {
+            deleteSpooledFile(spooledFile);
+            throw e;
+        }
+    }
+
+    void deleteSpooledFile(Path spooledFile) {
+        try {
+            Files.deleteIfExists(spooledFile);
+        } catch (IOException e) {
+            log.warn("Failed to delete spooled upload file: {}. Error: {}", spooledFile, e.getMessage());
+        }
+    }
+
     public MemberDocumentResponse uploadDocument(String memberId, MemberDocumentUploadRequest memberDocumentUploadRequest) {
         DocType docType = memberDocumentUploadRequest.docType();
         String fileName = memberDocumentUploadRequest.file().getOriginalFilename();
@@ -79,29 +158,17 @@ public class MemberDocumentService {
         
         try {
             // Validate member exists
-            Optional<Member> memberOptional = memberRepo.findById(memberId);
-            if (memberOptional.isEmpty()) {
+            if (!memberRepo.existsById(memberId)) {
                 log.error("Cannot upload document - Member not found with ID: {}", memberId);
                 throw new IllegalArgumentException("Member not found with ID: " + memberId);
             }
 
-            Member member = memberOptional.get();
-            log.debug("Member found - ID: {}, uploading {} document", memberId, docType);
-            
-            // Upload to Cloudinary
-            String docUrl = getImageUrl(memberId, memberDocumentUploadRequest);
-            
-            // Save document metadata
-            log.debug("Saving document metadata to database - member ID: {}, doc type: {}", 
-                    memberId, docType);
-            MemberDocumentResponse memberDocumentResponse = getMemberDocumentResponse(memberId, docType, docUrl);
-
-            // Update member photo URL if document is a photo
-            if (docType == DocType.PHOTO) {
-                log.debug("Updating member photo URL - member ID: {}", memberId);
-                member.setPhotoUrl(docUrl);
-                memberRepo.save(member);
-                log.info("Successfully updated member photo URL - member ID: {}", memberId);
+            SpooledUpload upload = spool(memberDocumentUploadRequest.file());
+            MemberDocumentResponse memberDocumentResponse;
+            try {
+                memberDocumentResponse = storeSpooledDocument(memberId, docType, upload);
+            } finally {
+                deleteSpooledFile(upload.file());
             }
 
             log.info("Successfully uploaded and saved document - member ID: {}, doc type: {}, document ID: {}", 
@@ -118,11 +185,180 @@ public class MemberDocumentService {
         }
     }
 
-    private MemberDocumentResponse getMemberDocumentResponse(String memberId, DocType docType, String docUrl) {
+    /**
+     * Uploads a spooled file and records it, in two phases so no JDBC connection is held during the
+     * slow remote transfer: the file is sent to storage first, then a short transaction records the
+     * document. Content left unreferenced, because the document replaced it or the transaction
+     * failed, is handed to {@link DocumentBlobCleanupService}. The caller owns the spooled file and
+     * deletes it afterwards.
+     * <p>
+     * Re-uploading the content the document already has is a no-op, and content that is already
+     * stored for any other document is reused instead of transferred again.
+     * <p>
+     * Records the upload size and the time taken, tagged with the document type and whether the
+     * content was {@code unchanged}, {@code stored}, {@code reused} or the upload {@code failed}.
+     */
+    MemberDocumentResponse storeSpooledDocument(String memberId, DocType docType, SpooledUpload upload) {
+        DistributionSummary.builder(UPLOAD_SIZE_SUMMARY)
+                .baseUnit(BaseUnits.BYTES)
+                .tag("doc.type", docType.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(upload.size());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "failed";
+
+        try {
+            String documentId = getDocumentId(memberId, docType);
+            String contentHash = upload.contentHash();
+
+            Optional<MemberDocument> unchangedDocument = memberDocumentRepo.findById(documentId)
+                    .filter(document -> contentHash.equals(document.getContentHash()));
+            if (unchangedDocument.isPresent()) {
+                log.info("Document content unchanged - skipping upload, document ID: {}", documentId);
+                MemberDocument document = unchangedDocument.get();
+                result = "unchanged";
+                return new MemberDocumentResponse(document.getDocumentId(), document.getDocumentType(), document.getUrl());
+            }
+
+            // Phase 1: upload to storage, outside any transaction, unless the content is already stored.
+            // Claiming first keeps the cleanup from deleting content this upload is about to reuse
+            documentBlobCleanupService.claim(contentHash);
+            Optional<MemberDocument> existingDocument = memberDocumentRepo.findFirstByContentHash(contentHash);
+            StoredDocument storedDocument = existingDocument
+                    .map(document -> {
+                        log.info("Document content already stored - reusing {} for document ID: {}", 
+                                document.getUrl(), documentId);
+                        return new StoredDocument(contentHash, document.getUrl(), false);
+                    })
+                    .orElseGet(() -> storeDocument(memberId, docType, upload));
+            String thumbnailUrl = docType == DocType.PHOTO ? thumbnailUrl(memberId, upload, existingDocument) : null;
+
+            // Phase 2: short transaction for the document row and the member photo URL
+            try {
+                MemberDocumentResponse response = transactionTemplate.execute(status ->
+                        saveUploadedDocument(memberId, docType, storedDocument.url(), contentHash, thumbnailUrl));
+                result = storedDocument.created() ? "stored" : "reused";
+                return response;
+            } catch (RuntimeException e) {
+                // The blob, and the thumbnail derived from it, may be shared with other rows or with a
+                // concurrent upload of the same content, so it is only released if nothing references it
+                releaseAfterFailedSave(contentHash);
+                throw e;
+            }
+        } finally {
+            sample.stop(Timer.builder(UPLOAD_TIMER)
+                    .tag("doc.type", docType.name())
+                    .tag("result", result)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Storage key of the thumbnail of a photo, derived from the photo's content hash so the cleanup
+     * deletes it together with the photo.
+     */
+    static String thumbnailKey(String contentHash) {
+        return ContentHash.sha256(("thumbnail:" + contentHash).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the thumbnail of reused content when it was stored as a photo before, and only
+     * otherwise creates one.
+     */
+    private String thumbnailUrl(String memberId, SpooledUpload upload, Optional<MemberDocument> existingDocument) {
+        if (existingDocument.isPresent()) {
+            Optional<String> existingThumbnailUrl = Optional.ofNullable(existingDocument.get().getThumbnailUrl())
+                    .or(() -> memberDocumentRepo.findFirstByContentHashAndThumbnailUrlIsNotNull(upload.contentHash())
+                            .map(MemberDocument::getThumbnailUrl));
+            if (existingThumbnailUrl.isPresent()) {
+                log.debug("Photo thumbnail already stored - reusing {} for member ID: {}",
+                        existingThumbnailUrl.get(), memberId);
+                return existingThumbnailUrl.get();
+            }
+        }
+        StoredDocument storedThumbnail = storeThumbnail(memberId, upload);
+        return storedThumbnail != null ? storedThumbnail.url() : null;
+    }
+
+    /**
+     * Creates and stores the thumbnail of an uploaded photo. A photo that cannot be thumbnailed is
+     * still stored; list pages then fall back to the full photo.
+     */
+    private StoredDocument storeThumbnail(String memberId, SpooledUpload upload) {
+        Path thumbnailFile = null;
+        try {
+            Optional<byte[]> thumbnail = thumbnailService.createThumbnail(upload.file());
+            if (thumbnail.isEmpty()) {
+                return null;
+            }
+
+            thumbnailFile = Files.createTempFile(spoolDirectory, "member-thumb-", ".jpg");
+            Files.write(thumbnailFile, thumbnail.get());
+            StoredDocument storedThumbnail = documentStorage.store(thumbnailKey(upload.contentHash()), thumbnailFile);
+            log.debug("Stored photo thumbnail - member ID: {}, URL: {}", memberId, storedThumbnail.url());
+            return storedThumbnail;
+
+        } catch (Exception e) {
+            log.warn("Failed to create photo thumbnail - member ID: {}. Error: {}", memberId, e.getMessage());
+            return null;
+        } finally {
+            if (thumbnailFile != null) {
+                deleteSpooledFile(thumbnailFile);
+            }
+        }
+    }
+
+    private MemberDocumentResponse saveUploadedDocument(String memberId, DocType docType, String docUrl,
+                                                        String contentHash, String thumbnailUrl) {
+        log.debug("Saving document metadata to database - member ID: {}, doc type: {}", 
+                memberId, docType);
+        String previousContentHash = memberDocumentRepo.findById(getDocumentId(memberId, docType))
+                .map(MemberDocument::getContentHash)
+                .orElse(null);
+
+        // Claimed again in this transaction, as the content may have been released since phase 1
+        documentBlobCleanupService.claim(contentHash);
+        MemberDocumentResponse memberDocumentResponse =
+                getMemberDocumentResponse(memberId, docType, docUrl, contentHash, thumbnailUrl);
+
+        // Update member photo URL if document is a photo
+        if (docType == DocType.PHOTO) {
+            log.debug("Updating member photo URL - member ID: {}", memberId);
+            Member member = memberRepo.findById(memberId)
+                    .orElseThrow(() -> new IllegalStateException("Member removed during upload: " + memberId));
+            member.setPhotoUrl(docUrl);
+            member.setThumbnailUrl(thumbnailUrl);
+            memberRepo.save(member);
+            memberTypeaheadService.index(member);
+            log.info("Successfully updated member photo URL - member ID: {}", memberId);
+        }
+
+        if (previousContentHash != null && !previousContentHash.equals(contentHash)) {
+            documentBlobCleanupService.releaseIfUnreferenced(previousContentHash);
+        }
+
+        return memberDocumentResponse;
+    }
+
+    private void releaseAfterFailedSave(String contentHash) {
+        log.warn("Releasing stored document after failed save - storage key: {}", contentHash);
+
+        try {
+            documentBlobCleanupService.releaseIfUnreferenced(contentHash);
+        } catch (Exception e) {
+            log.error("Failed to release stored document - storage key: {}. Error: {}", 
+                    contentHash, e.getMessage(), e);
+        }
+    }
+
+    private MemberDocumentResponse getMemberDocumentResponse(String memberId, DocType docType, String docUrl,
+                                                             String contentHash, String thumbnailUrl) {
         log.debug("Creating member document entity - member ID: {}, doc type: {}", memberId, docType);
         
         try {
-            MemberDocument memberDocument = getMemberDocument(memberId, docType, docUrl);
+            MemberDocument memberDocument = getMemberDocument(memberId, docType, docUrl, contentHash, thumbnailUrl);
             MemberDocument response = memberDocumentRepo.save(memberDocument);
             
             log.debug("Successfully saved member document - document ID: {}", response.getDocumentId());
@@ -139,34 +375,40 @@ public class MemberDocumentService {
         }
     }
 
-    private static MemberDocument getMemberDocument(String memberId, DocType docType, String docUrl) {
+    private static String getDocumentId(String memberId, DocType docType) {
+        return memberId + "-" + docType.name();
+    }
+
+    private static MemberDocument getMemberDocument(String memberId, DocType docType, String docUrl,
+                                                    String contentHash, String thumbnailUrl) {
         MemberDocument memberDocument = new MemberDocument();
-        memberDocument.setDocumentId(memberId + "-" + docType.name());
+        memberDocument.setDocumentId(getDocumentId(memberId, docType));
         memberDocument.setMemberId(memberId);
         memberDocument.setDocumentType(docType);
         memberDocument.setUrl(docUrl);
+        memberDocument.setContentHash(contentHash);
+        memberDocument.setThumbnailUrl(thumbnailUrl);
         memberDocument.setUploadedAt(LocalDateTime.now());
         return memberDocument;
     }
 
+    /**
+     * Lists the member's documents. Does not check that the member exists; callers load the member
+     * row themselves and an unknown member simply has no documents.
+     */
     public List<MemberDocumentResponse> getMemberShipDocuments(String memberId) {
         log.info("Fetching all documents for member ID: {}", memberId);
         
         try {
-            // Optional: Validate member exists
-            if (!memberRepo.existsById(memberId)) {
-                log.warn("Attempting to fetch documents for non-existent member ID: {}", memberId);
-                // You can choose to throw an exception or return empty list
-                throw new IllegalArgumentException("Member not found with ID: " + memberId);
-            }
-            
             List<MemberDocument> documents = memberDocumentRepo.findMemberDocumentByMemberId(memberId);
             log.debug("Found {} document(s) for member ID: {}", documents.size(), memberId);
             
             List<MemberDocumentResponse> responses = documents.stream()
                     .map(doc -> {
-                        log.trace("Mapping document - ID: {}, type: {}", 
-                                doc.getDocumentId(), doc.getDocumentType());
+                        if (log.isTraceEnabled()) {
+                            log.trace("Mapping document - ID: {}, type: {}",
+                                    doc.getDocumentId(), doc.getDocumentType());
+                        }
                         return new MemberDocumentResponse(
                                 doc.getDocumentId(),
                                 doc.getDocumentType(),
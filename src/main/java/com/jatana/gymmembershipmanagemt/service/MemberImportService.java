@@ -0,0 +1,379 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jatana.gymmembershipmanagemt.model.Member;
+import com.jatana.gymmembershipmanagemt.model.dto.request.MemberRequest;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberImportError;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberImportResponse;
+import com.jatana.gymmembershipmanagemt.model.enums.Gender;
+import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
+import com.jatana.gymmembershipmanagemt.util.Csv;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates members in bulk from a CSV or NDJSON stream.
+ * <p>
+ * The input is read row by row and handled in chunks of {@code member.import.chunk-size} rows:
+ * ID collisions for the whole chunk are found with one {@code IN} query, and the remaining rows are
+ * persisted in one transaction that Hibernate sends as JDBC batches. Only one chunk is held in
+ * memory at a time. Invalid rows are reported with the line they start on and never abort the
+ * import; only a CSV record that cannot be delimited, such as an unterminated quoted field, ends it.
+ */
+@Slf4j
+@Service
+public class MemberImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of("memberId", "firstName", "lastName", "gender");
+
+    // Far above any real member row; stops an unterminated quote from reading the rest of the input
+    // into one field
+    private static final int MAX_CSV_RECORD_LENGTH = 64 * 1024;
+
+    @Autowired
+    private MemberRepo memberRepo;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private MemberTypeaheadService memberTypeaheadService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${member.import.chunk-size:500}")
+    private int chunkSize;
+
+    private record ImportRow(long lineNumber, MemberRequest memberRequest) {
+    }
+
+    private static class ImportResult {
+        private long totalRows;
+        private long importedCount;
+        private long failedCount;
+        private final List<MemberImportError> errors = new ArrayList<>();
+
+        private void reject(long lineNumber, String memberId, String message) {
+            failedCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new MemberImportError(lineNumber, memberId, message));
+            }
+        }
+
+        private MemberImportResponse toResponse() {
+            return new MemberImportResponse(totalRows, importedCount, failedCount, List.copyOf(errors));
+        }
+    }
+
+    /**
+     * Imports members from CSV. The first record is a header naming the columns; memberId, firstName,
+     * lastName and gender are required, dateOfBirth, phoneNumber, email and address are optional.
+     * Quoted fields may contain line breaks.
+     */
+    public MemberImportResponse importCsv(InputStream input) {
+        log.info("Starting CSV member import");
+
+        try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+            Csv.RecordReader records = new Csv.RecordReader(reader, MAX_CSV_RECORD_LENGTH);
+            List<String> header = records.next();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV input is empty");
+            }
+
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String column = i == 0 ? stripByteOrderMark(header.get(i)) : header.get(i);
+                columns.put(column.trim(), i);
+            }
+            for (String column : REQUIRED_CSV_COLUMNS) {
+                if (!columns.containsKey(column)) {
+                    throw new IllegalArgumentException("CSV header is missing column: " + column);
+                }
+            }
+
+            return importRows(new CsvRowReader(records), fields -> new MemberRequest(
+                    field(fields, columns, "memberId"),
+                    field(fields, columns, "firstName"),
+                    field(fields, columns, "lastName"),
+                    parseDate(field(fields, columns, "dateOfBirth")),
+                    parseGender(field(fields, columns, "gender")),
+                    field(fields, columns, "phoneNumber"),
+                    field(fields, columns, "email"),
+                    field(fields, columns, "address")
+            ));
+
+        } catch (IOException e) {
+            log.error("Failed to read CSV member import. Error: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to read member import", e);
+        }
+    }
+
+    /**
+     * Imports members from newline-delimited JSON, one {@link MemberRequest} object per line.
+     */
+    public MemberImportResponse importNdjson(InputStream input) {
+        log.info("Starting NDJSON member import");
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            return importRows(new LineRowReader(reader),
+                    line -> objectMapper.readValue(stripByteOrderMark(line), MemberRequest.class));
+        } catch (IOException e) {
+            log.error("Failed to read NDJSON member import. Error: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to read member import", e);
+        }
+    }
+
+    /**
+     * Reads the rows of an import, skipping blank lines. {@link #lineNumber()} is the line on which
+     * the row last returned or rejected by {@link #next()} starts.
+     */
+    private interface RowReader<T> {
+        /**
+         * Returns the next row, or null at the end of the input.
+         *
+         * @throws IllegalArgumentException if the input cannot be read past a malformed row
+         */
+        T next() throws IOException;
+
+        long lineNumber();
+    }
+
+    private static class CsvRowReader implements RowReader<List<String>> {
+        private final Csv.RecordReader records;
+
+        private CsvRowReader(Csv.RecordReader records) {
+            this.records = records;
+        }
+
+        @Override
+        public List<String> next() throws IOException {
+            List<String> record = records.next();
+            while (record != null && record.size() == 1 && record.getFirst().isBlank()) {
+                record = records.next();
+            }
+            return record;
+        }
+
+        @Override
+        public long lineNumber() {
+            return records.lineNumber();
+        }
+    }
+
+    private static class LineRowReader implements RowReader<String> {
+        private final BufferedReader reader;
+        private long lineNumber;
+
+        private LineRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public String next() throws IOException {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    return line;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public long lineNumber() {
+            return lineNumber;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowParser<T> {
+        MemberRequest parse(T row) throws Exception;
+    }
+
+    private <T> MemberImportResponse importRows(RowReader<T> reader, RowParser<T> parser) throws IOException {
+        ImportResult result = new ImportResult();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+
+        while (true) {
+            T row;
+            try {
+                row = reader.next();
+            } catch (IllegalArgumentException e) {
+                // Nothing after a row that cannot be delimited can be trusted, so the import stops here
+                result.totalRows++;
+                result.reject(reader.lineNumber(), null, "Malformed row: " + e.getMessage());
+                break;
+            }
+            if (row == null) {
+                break;
+            }
+            result.totalRows++;
+            long lineNumber = reader.lineNumber();
+
+            MemberRequest memberRequest;
+            try {
+                memberRequest = parser.parse(row);
+            } catch (Exception e) {
+                String message = e instanceof JsonProcessingException jsonException
+                        ? jsonException.getOriginalMessage()
+                        : e.getMessage();
+                result.reject(lineNumber, null, "Malformed row: " + message);
+                continue;
+            }
+
+            String validationError = validate(memberRequest);
+            if (validationError != null) {
+                result.reject(lineNumber, memberRequest != null ? memberRequest.memberId() : null, validationError);
+                continue;
+            }
+
+            chunk.add(new ImportRow(lineNumber, memberRequest));
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, result);
+        }
+
+        log.info("Finished member import - rows: {}, imported: {}, failed: {}",
+                result.totalRows, result.importedCount, result.failedCount);
+        return result.toResponse();
+    }
+
+    private void importChunk(List<ImportRow> chunk, ImportResult result) {
+        Set<String> chunkIds = new HashSet<>();
+        for (ImportRow row : chunk) {
+            chunkIds.add(row.memberRequest().memberId());
+        }
+        Set<String> existingIds = new HashSet<>(memberRepo.findExistingMemberIds(chunkIds));
+
+        List<ImportRow> insertable = new ArrayList<>(chunk.size());
+        Set<String> seenIds = new HashSet<>();
+        for (ImportRow row : chunk) {
+            String memberId = row.memberRequest().memberId();
+            if (existingIds.contains(memberId)) {
+                result.reject(row.lineNumber(), memberId, "Member already exists with ID: " + memberId);
+            } else if (!seenIds.add(memberId)) {
+                result.reject(row.lineNumber(), memberId, "Duplicate member ID in import: " + memberId);
+            } else {
+                insertable.add(row);
+            }
+        }
+        if (insertable.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(insertable));
+            result.importedCount += insertable.size();
+            log.debug("Imported chunk of {} member(s), {} collision(s)", insertable.size(), chunk.size() - insertable.size());
+        } catch (RuntimeException e) {
+            // Something in the batch failed, e.g. a concurrent insert of the same ID. Retry row by row
+            // so only the offending rows are rejected.
+            log.warn("Member import chunk failed, retrying {} row(s) individually. Error: {}",
+                    insertable.size(), e.getMessage());
+            for (ImportRow row : insertable) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(List.of(row)));
+                    result.importedCount++;
+                } catch (RuntimeException rowException) {
+                    result.reject(row.lineNumber(), row.memberRequest().memberId(), rootCauseMessage(rowException));
+                }
+            }
+        }
+    }
+
+    private void persist(List<ImportRow> rows) {
+        // persist() rather than save(): save() merges entities with an assigned ID, which costs a
+        // SELECT per row before the insert
+        for (ImportRow row : rows) {
+            Member member = memberService.getMemberFromMemberRequest(row.memberRequest());
+            entityManager.persist(member);
+            memberTypeaheadService.index(member);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static String validate(MemberRequest memberRequest) {
+        if (memberRequest == null) {
+            return "Empty row";
+        }
+        if (memberRequest.memberId() == null || memberRequest.memberId().isBlank()) {
+            return "memberId is required";
+        }
+        if (memberRequest.firstName() == null || memberRequest.firstName().isBlank()) {
+            return "firstName is required";
+        }
+        if (memberRequest.lastName() == null || memberRequest.lastName().isBlank()) {
+            return "lastName is required";
+        }
+        if (memberRequest.gender() == null) {
+            return "gender is required";
+        }
+        if (memberRequest.dateOfBirth() != null && memberRequest.dateOfBirth().isAfter(LocalDate.now())) {
+            return "dateOfBirth is in the future";
+        }
+        return null;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static LocalDate parseDate(String value) {
+        return value == null ? null : LocalDate.parse(value);
+    }
+
+    private static Gender parseGender(String value) {
+        return value == null ? null : Gender.valueOf(value.toUpperCase(Locale.ROOT));
+    }
+
+    private static String stripByteOrderMark(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    private static String rootCauseMessage(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+}
@@ -0,0 +1,74 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.jatana.gymmembershipmanagemt.model.Member;
+import com.jatana.gymmembershipmanagemt.model.dto.projection.MemberSummaryProjection;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberResponse;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberSummaryResponse;
+import com.jatana.gymmembershipmanagemt.model.enums.Gender;
+import com.jatana.gymmembershipmanagemt.model.enums.MemberStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * Maps member entities and summary projections to the responses returned by {@link MemberService}.
+ */
+@Slf4j
+final class MemberMapper {
+
+    private static final LocalDate DEFAULT_END_DATE = LocalDate.of(2000, 1, 1);
+
+    private MemberMapper() {
+    }
+
+    static MemberResponse toMemberResponse(Member member) {
+        if (log.isTraceEnabled()) {
+            log.trace("Converting member entity to response - ID: {}", member.getMemberId());
+        }
+
+        return MemberResponse
+                .builder()
+                .memberId(member.getMemberId())
+                .firstName(member.getFirstName())
+                .lastName(member.getLastName())
+                .fullName(member.getFullName())
+                .dateOfBirth(member.getDateOfBirth())
+                .age(calculateAge(member.getDateOfBirth()))
+                .gender(Gender.valueOf(member.getGender()))
+                .phoneNumber(member.getPhoneNumber())
+                .email(member.getEmail())
+                .address(member.getAddress())
+                .memberStatus(MemberStatus.valueOf(member.getMemberStatus()))
+                .photoUrl(member.getPhotoUrl())
+                .build();
+    }
+
+    static MemberSummaryResponse toMemberSummaryResponse(MemberSummaryProjection member) {
+        if (log.isTraceEnabled()) {
+            log.trace("Creating summary response for member ID: {}", member.memberId());
+        }
+
+        return new MemberSummaryResponse(
+                member.memberId(),
+                member.fullName(),
+                calculateAge(member.dateOfBirth()),
+                Gender.valueOf(member.gender()),
+                member.phoneNumber(),
+                member.email(),
+                MemberStatus.valueOf(member.memberStatus()),
+                member.photoUrl(),
+                member.thumbnailUrl(),
+                member.membershipEndDate() != null ? member.membershipEndDate() : DEFAULT_END_DATE
+        );
+    }
+
+    static int calculateAge(LocalDate dateOfBirth) {
+        if (dateOfBirth == null) {
+            log.warn("Attempted to calculate age with null date of birth");
+            return 0;
+        }
+        LocalDate currentDate = LocalDate.now();
+        return Period.between(dateOfBirth, currentDate).getYears();
+    }
+}
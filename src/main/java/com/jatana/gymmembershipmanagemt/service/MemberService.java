@@ -1,33 +1,43 @@
 package com.jatana.gymmembershipmanagemt.service;
 
 import com.jatana.gymmembershipmanagemt.model.Member;
-import com.jatana.gymmembershipmanagemt.model.Membership;
+import com.jatana.gymmembershipmanagemt.model.dto.projection.MemberSummaryProjection;
 import com.jatana.gymmembershipmanagemt.model.dto.request.MemberRequest;
 import com.jatana.gymmembershipmanagemt.model.dto.request.MemberUpdateRequest;
 import com.jatana.gymmembershipmanagemt.model.dto.response.MemberDocumentResponse;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberPageResponse;
 import com.jatana.gymmembershipmanagemt.model.dto.response.MemberResponse;
 import com.jatana.gymmembershipmanagemt.model.dto.response.MemberSummaryResponse;
 import com.jatana.gymmembershipmanagemt.model.dto.response.MembershipResponse;
-import com.jatana.gymmembershipmanagemt.model.enums.Gender;
 import com.jatana.gymmembershipmanagemt.model.enums.MemberStatus;
 import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
-import com.jatana.gymmembershipmanagemt.repo.MembershipRepo;
+import com.jatana.gymmembershipmanagemt.util.MemberCursor;
+import com.jatana.gymmembershipmanagemt.util.SearchText;
+import com.jatana.gymmembershipmanagemt.util.SubtaskScope;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.Period;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class MemberService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
     @Autowired
     private MemberRepo memberRepo;
 
@@ -35,10 +45,14 @@ public class MemberService {
     private MembershipService membershipService;
 
     @Autowired
-    private MembershipRepo membershipRepo;
+    private MemberDocumentService memberDocumentService;
 
     @Autowired
-    private MemberDocumentService memberDocumentService;
+    private MemberTypeaheadService memberTypeaheadService;
+
+    // Membership history and documents for the detail view are fetched concurrently, one virtual thread each
+    private final ExecutorService memberDetailExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("member-detail-", 0).factory());
 
     @Transactional
     public MemberResponse createMember(MemberRequest memberRequest) {
@@ -60,12 +74,13 @@ public class MemberService {
             Member member = getMemberFromMemberRequest(memberRequest);
             
             Member response = memberRepo.save(member);
+            memberTypeaheadService.index(response);
             log.info("Successfully created member - ID: {}, name: {}, status: {}", 
                     response.getMemberId(), 
                     response.getFullName(),
                     response.getMemberStatus());
             
-            return getMemberResponseFromMember(response)
+            return MemberMapper.toMemberResponse(response)
                     .withMembershipHistory(List.of())
                     .withDocuments(List.of());
                     
@@ -78,36 +93,7 @@ public class MemberService {
         }
     }
 
-    private MemberResponse getMemberResponseFromMember(Member member) {
-        log.trace("Converting member entity to response - ID: {}", member.getMemberId());
-        
-        return MemberResponse
-                .builder()
-                .memberId(member.getMemberId())
-                .firstName(member.getFirstName())
-                .lastName(member.getLastName())
-                .fullName(member.getFullName())
-                .dateOfBirth(member.getDateOfBirth())
-                .age(calculateAge(member.getDateOfBirth()))
-                .gender(Gender.valueOf(member.getGender()))
-                .phoneNumber(member.getPhoneNumber())
-                .email(member.getEmail())
-                .address(member.getAddress())
-                .memberStatus(MemberStatus.valueOf(member.getMemberStatus()))
-                .photoUrl(member.getPhotoUrl())
-                .build();
-    }
-
-    private int calculateAge(LocalDate dateOfBirth) {
-        if (dateOfBirth == null) {
-            log.warn("Attempted to calculate age with null date of birth");
-            return 0;
-        }
-        LocalDate currentDate = LocalDate.now();
-        return Period.between(dateOfBirth, currentDate).getYears();
-    }
-
-    private Member getMemberFromMemberRequest(MemberRequest memberRequest) {
+    Member getMemberFromMemberRequest(MemberRequest memberRequest) {
         Member member = new Member();
         member.setMemberId(memberRequest.memberId());
         member.setFirstName(memberRequest.firstName());
@@ -134,14 +120,16 @@ public class MemberService {
         log.info("Fetching members with filter: {}, search key: '{}'", filter, searchKey);
         
         try {
-            List<Member> members = memberRepo.findMembersUsingFilterAndSearchKeyword(
-                    filter.toString(), searchKey);
+            String keyword = SearchText.keyword(searchKey);
+            List<MemberSummaryProjection> members = keyword.isEmpty()
+                    ? memberRepo.findMemberSummariesUsingFilterAndSearchKeyword(filter.toString(), keyword)
+                    : memberRepo.searchMemberSummaries(filter.toString(), keyword);
             
             log.debug("Found {} member(s) matching filter: {}, search key: '{}'", 
                     members.size(), filter, searchKey);
             
             List<MemberSummaryResponse> memberSummaryResponses = members.stream()
-                    .map(this::getMemberSummaryResponseFromMember)
+                    .map(MemberMapper::toMemberSummaryResponse)
                     .collect(Collectors.toList());
             
             log.info("Successfully retrieved {} member(s) with filter: {}", 
@@ -156,43 +144,44 @@ public class MemberService {
         }
     }
 
-    private MemberSummaryResponse getMemberSummaryResponseFromMember(Member member) {
-        log.trace("Creating summary response for member ID: {}", member.getMemberId());
-        
-        return new MemberSummaryResponse(
-                member.getMemberId(),
-                member.getFullName(),
-                calculateAge(member.getDateOfBirth()),
-                Gender.valueOf(member.getGender()),
-                member.getPhoneNumber(),
-                member.getEmail(),
-                MemberStatus.valueOf(member.getMemberStatus()),
-                member.getPhotoUrl(),
-                getEndDate(member.getMemberId())
-        );
-    }
+    public MemberPageResponse getMembersPage(MemberStatus filter, String searchKey, String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        log.info("Fetching members page with filter: {}, search key: '{}', page size: {}, cursor: {}",
+                filter, searchKey, pageSize, cursor);
+
+        MemberCursor position = cursor == null || cursor.isBlank() ? null : MemberCursor.decode(cursor);
 
-    private LocalDate getEndDate(String memberId) {
-        log.trace("Fetching latest membership end date for member ID: {}", memberId);
-        
         try {
-            Optional<Membership> latestMembershipOptional = 
-                    membershipRepo.findTopByMemberIdOrderByEndDateDesc(memberId);
-            
-            LocalDate endDate = latestMembershipOptional
-                    .map(Membership::getEndDate)
-                    .orElse(LocalDate.of(2000, 1, 1));
-            
-            if (latestMembershipOptional.isEmpty()) {
-                log.debug("No membership found for member ID: {}, using default date", memberId);
+            // Read one extra row to learn whether another page exists without a count query
+            Limit limit = Limit.of(pageSize + 1);
+            String keyword = SearchText.keyword(searchKey);
+            List<MemberSummaryProjection> rows = position == null
+                    ? memberRepo.findMemberSummaryPage(filter.toString(), keyword, limit)
+                    : memberRepo.findMemberSummaryPageAfter(filter.toString(), keyword,
+                            position.createdAt(), position.memberId(), limit);
+
+            boolean hasNext = rows.size() > pageSize;
+            List<MemberSummaryProjection> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+            String nextCursor = null;
+            if (hasNext) {
+                MemberSummaryProjection last = page.getLast();
+                nextCursor = new MemberCursor(last.createdAt(), last.memberId()).encode();
             }
-            
-            return endDate;
-            
+
+            List<MemberSummaryResponse> members = page.stream()
+                    .map(MemberMapper::toMemberSummaryResponse)
+                    .toList();
+
+            log.info("Successfully retrieved page of {} member(s) with filter: {}, has next page: {}",
+                    members.size(), filter, hasNext);
+
+            return new MemberPageResponse(members, nextCursor);
+
         } catch (Exception e) {
-            log.error("Failed to fetch end date for member ID: {}. Error: {}", 
-                    memberId, e.getMessage(), e);
-            return LocalDate.of(2000, 1, 1);
+            log.error("Failed to fetch members page with filter: {}, search key: '{}'. Error: {}",
+                    filter, searchKey, e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch members page", e);
         }
     }
 
@@ -200,20 +189,22 @@ public class MemberService {
         log.info("Fetching member details for ID: {}", memberId);
         
         try {
-            Optional<Member> memberOptional = memberRepo.findById(memberId);
-            
-            if (memberOptional.isEmpty()) {
-                log.error("Member not found with ID: {}", memberId);
-                throw new IllegalArgumentException("Member not found with ID: " + memberId);
-            }
-            
-            Member member = memberOptional.get();
-            log.debug("Found member - ID: {}, name: {}, status: {}", 
-                    member.getMemberId(), 
-                    member.getFullName(), 
-                    member.getMemberStatus());
-            
-            MemberResponse response = getMemberResponseWithMembershipAndDocDetailFromMember(member);
+            // The member row is read on this thread while history and documents load alongside it
+            MemberResponse response = getMemberResponseWithMembershipAndDocDetail(memberId, () -> {
+                Optional<Member> memberOptional = memberRepo.findById(memberId);
+
+                if (memberOptional.isEmpty()) {
+                    log.error("Member not found with ID: {}", memberId);
+                    throw new IllegalArgumentException("Member not found with ID: " + memberId);
+                }
+
+                Member member = memberOptional.get();
+                log.debug("Found member - ID: {}, name: {}, status: {}",
+                        member.getMemberId(),
+                        member.getFullName(),
+                        member.getMemberStatus());
+                return member;
+            });
             log.info("Successfully retrieved complete member details for ID: {}", memberId);
             
             return response;
@@ -293,6 +284,7 @@ public class MemberService {
             member.setUpdatedAt(LocalDateTime.now());
 
             Member response = memberRepo.save(member);
+            memberTypeaheadService.index(response);
             
             log.info("Successfully updated member - ID: {}, new name: {}", 
                     memberId, response.getFullName());
@@ -308,17 +300,42 @@ public class MemberService {
         }
     }
 
+    /**
+     * Builds the response sequentially on the caller's thread, for the update paths that run inside a
+     * transaction: forked subtasks would each take a second pooled connection while the transaction
+     * holds the first, which can exhaust the pool under load.
+     */
     private MemberResponse getMemberResponseWithMembershipAndDocDetailFromMember(Member member) {
-        log.debug("Building complete member response with memberships and documents - ID: {}", 
-                member.getMemberId());
-        
-        MemberResponse memberResponse = getMemberResponseFromMember(member);
-        List<MembershipResponse> membershipHistory = getMembershipResponse(member.getMemberId());
-        List<MemberDocumentResponse> documents = getMemberShipDocuments(member.getMemberId());
-        
-        return memberResponse
-                .withMembershipHistory(membershipHistory)
-                .withDocuments(documents);
+        log.debug("Building complete member response with memberships and documents - ID: {}", member.getMemberId());
+
+        return MemberMapper.toMemberResponse(member)
+                .withMembershipHistory(getMembershipResponse(member.getMemberId()))
+                .withDocuments(getMemberShipDocuments(member.getMemberId()));
+    }
+
+    private MemberResponse getMemberResponseWithMembershipAndDocDetail(String memberId, Supplier<Member> memberLoader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return getMemberResponseWithMembershipAndDocDetailFromMember(memberLoader.get());
+        }
+
+        log.debug("Building complete member response with memberships and documents - ID: {}", memberId);
+
+        try (SubtaskScope scope = new SubtaskScope(memberDetailExecutor)) {
+            Supplier<List<MembershipResponse>> membershipHistory = scope.fork(() -> getMembershipResponse(memberId));
+            Supplier<List<MemberDocumentResponse>> documents = scope.fork(() -> getMemberShipDocuments(memberId));
+
+            MemberResponse memberResponse = MemberMapper.toMemberResponse(memberLoader.get());
+            scope.join();
+
+            return memberResponse
+                    .withMembershipHistory(membershipHistory.get())
+                    .withDocuments(documents.get());
+        }
+    }
+
+    @PreDestroy
+    public void shutdownMemberDetailExecutor() {
+        memberDetailExecutor.close();
     }
 
     @Transactional
@@ -340,9 +357,13 @@ public class MemberService {
                     memberId, oldStatus, memberStatus);
 
             member.setMemberStatus(memberStatus.toString());
+            // A manual change takes the member out of the expiry job's hands, so a renewal will not
+            // undo an admin's deactivation
+            member.setInactiveByExpiry(false);
             member.setUpdatedAt(LocalDateTime.now());
 
             Member response = memberRepo.save(member);
+            memberTypeaheadService.index(response);
             
             log.info("Successfully updated member status - ID: {}, status changed from {} to {}", 
                     memberId, oldStatus, memberStatus);
@@ -362,24 +383,10 @@ public class MemberService {
         log.info("Fetching active members with membership ending on or before: {}", endDate);
         
         try {
-            List<Member> members = memberRepo.findMembersUsingFilterAndSearchKeyword(
-                    MemberStatus.ACTIVE.toString(), ""
-            );
-            
-            log.debug("Found {} active member(s), filtering by end date: {}", 
-                    members.size(), endDate);
-
-            List<MemberSummaryResponse> filteredMembers = members.stream()
-                    .filter(member -> {
-                        LocalDate memberEndDate = getEndDate(member.getMemberId());
-                        boolean matches = !memberEndDate.isAfter(endDate);
-                        if (matches) {
-                            log.trace("Member ID: {} included - end date: {}", 
-                                    member.getMemberId(), memberEndDate);
-                        }
-                        return matches;
-                    })
-                    .map(this::getMemberSummaryResponseFromMember)
+            List<MemberSummaryResponse> filteredMembers = memberRepo
+                    .findMemberSummariesWithMembershipEndingBy(MemberStatus.ACTIVE.toString(), endDate)
+                    .stream()
+                    .map(MemberMapper::toMemberSummaryResponse)
                     .toList();
             
             log.info("Successfully retrieved {} member(s) with membership ending on or before: {}", 
@@ -0,0 +1,298 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.jatana.gymmembershipmanagemt.model.Member;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberTypeaheadResponse;
+import com.jatana.gymmembershipmanagemt.model.enums.MemberStatus;
+import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index over member id, name, email and phone for the check-in kiosk typeahead.
+ * <p>
+ * Every searchable token is stored as {@code token + '\0' + memberId} in a sorted map, so a prefix
+ * lookup is a single range scan of the map and never touches the database. The index is loaded
+ * at startup and kept current by the services that write members, after each write commits.
+ * Updates that commit while a load is reading its snapshot are held back and replayed on top of
+ * it, so a load never overwrites a newer entry with its older snapshot.
+ * <p>
+ * Until the first load succeeds the index is not ready: updates are only buffered, the load is
+ * retried with a growing delay between {@code member.typeahead.retry-initial-delay} and
+ * {@code member.typeahead.retry-max-delay}, and the health indicator reports it out of service.
+ * <p>
+ * Each instance keeps its own index and only sees the writes it made itself. Writes made by other
+ * instances, such as members deactivated by another instance's membership expiry run, are picked
+ * up by a full reload every {@code member.typeahead.reload-interval}, so suggestions can show a
+ * stale name or status for up to that long.
+ */
+@Slf4j
+@Service
+public class MemberTypeaheadService {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private static final char KEY_SEPARATOR = '\0';
+
+    private static final Pattern PHONE_QUERY = Pattern.compile("[\\d\\s+().-]*\\d[\\d\\s+().-]*");
+
+    @Autowired
+    private MemberRepo memberRepo;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Value("${member.typeahead.retry-initial-delay:PT5S}")
+    private Duration retryInitialDelay;
+
+    @Value("${member.typeahead.retry-max-delay:PT5M}")
+    private Duration retryMaxDelay;
+
+    private final NavigableMap<String, String> tokens = new ConcurrentSkipListMap<>();
+    private final Map<String, MemberTypeaheadResponse> members = new ConcurrentHashMap<>();
+
+    private final ReentrantLock loading = new ReentrantLock();
+
+    // Guarded by this
+    private boolean loaded;
+    private boolean buffering;
+    private final List<Runnable> pendingUpdates = new ArrayList<>();
+
+    // Only touched by the startup load and its retries, which run one at a time
+    private Duration retryDelay;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        if (!load()) {
+            scheduleRetry();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${member.typeahead.reload-interval:PT5M}",
+            initialDelayString = "${member.typeahead.reload-interval:PT5M}")
+    public void reloadIndex() {
+        // Until the first load succeeds its retries do the loading
+        if (isReady()) {
+            load();
+        }
+    }
+
+    /**
+     * True once the index has been loaded from the database; before that, suggestions only cover
+     * members written since startup.
+     */
+    public synchronized boolean isReady() {
+        return loaded;
+    }
+
+    public int indexedMemberCount() {
+        return members.size();
+    }
+
+    private void scheduleRetry() {
+        retryDelay = retryDelay == null ? retryInitialDelay : min(retryDelay.multipliedBy(2), retryMaxDelay);
+        log.warn("Member typeahead index is not ready, retrying the load in {}", retryDelay);
+        taskScheduler.schedule(this::loadIndex, Instant.now().plus(retryDelay));
+    }
+
+    private boolean load() {
+        if (!loading.tryLock()) {
+            return isReady();
+        }
+        try {
+            synchronized (this) {
+                buffering = true;
+            }
+            log.info("Loading member typeahead index");
+
+            List<MemberTypeaheadResponse> entries;
+            try {
+                entries = memberRepo.findAllTypeaheadEntries();
+            } catch (Exception e) {
+                log.error("Failed to load member typeahead index. Error: {}", e.getMessage(), e);
+                synchronized (this) {
+                    // A loaded index stays in use; before the first load updates wait for a retry
+                    if (loaded) {
+                        replayPendingUpdates();
+                    }
+                }
+                return false;
+            }
+
+            synchronized (this) {
+                int changed = 0;
+                for (MemberTypeaheadResponse entry : entries) {
+                    if (!entry.equals(members.get(entry.memberId()))) {
+                        put(entry);
+                        changed++;
+                    }
+                }
+                int replayed = pendingUpdates.size();
+                replayPendingUpdates();
+                loaded = true;
+                log.info("Successfully loaded {} member(s) into typeahead index with {} token(s), {} changed, replayed {} update(s)",
+                        members.size(), tokens.size(), changed, replayed);
+            }
+            return true;
+        } finally {
+            loading.unlock();
+        }
+    }
+
+    // Must hold this
+    private void replayPendingUpdates() {
+        pendingUpdates.forEach(Runnable::run);
+        pendingUpdates.clear();
+        buffering = false;
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    public List<MemberTypeaheadResponse> search(String query, MemberStatus status, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+
+        // Phone numbers are indexed as digits only, so "+1 (555) 01" also looks up "155501"
+        Set<String> prefixes = new LinkedHashSet<>();
+        prefixes.add(prefix);
+        if (PHONE_QUERY.matcher(prefix).matches()) {
+            prefixes.add(prefix.replaceAll("\\D", ""));
+        }
+
+        int maxResults = Math.clamp(limit, 1, MAX_LIMIT);
+        Set<String> matchedIds = new LinkedHashSet<>();
+        List<MemberTypeaheadResponse> results = new ArrayList<>(maxResults);
+
+        for (String tokenPrefix : prefixes) {
+            for (String memberId : tokens.subMap(tokenPrefix, true, tokenPrefix + Character.MAX_VALUE, false).values()) {
+                if (!matchedIds.add(memberId)) {
+                    continue;
+                }
+                MemberTypeaheadResponse member = members.get(memberId);
+                if (member == null || (status != null && member.memberStatus() != status)) {
+                    continue;
+                }
+                results.add(member);
+                if (results.size() == maxResults) {
+                    return results;
+                }
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Re-indexes the member once the surrounding transaction commits, or immediately when called
+     * outside a transaction, so a rolled back write never shows up in suggestions.
+     */
+    public void index(Member member) {
+        MemberTypeaheadResponse entry = new MemberTypeaheadResponse(
+                member.getMemberId(),
+                member.getFullName(),
+                member.getPhoneNumber(),
+                member.getEmail(),
+                MemberStatus.valueOf(member.getMemberStatus()),
+                member.getPhotoUrl()
+        );
+
+        afterCommit(() -> apply(() -> put(entry)));
+    }
+
+    /**
+     * Updates only the status of already indexed members, for bulk status changes that do not load
+     * the member rows. Applied after commit like {@link #index(Member)}.
+     */
+    public void indexStatus(Collection<String> memberIds, MemberStatus status) {
+        List<String> ids = List.copyOf(memberIds);
+        afterCommit(() -> apply(() -> ids.forEach(memberId -> members.computeIfPresent(memberId, (id, entry) ->
+                new MemberTypeaheadResponse(entry.memberId(), entry.fullName(), entry.phoneNumber(),
+                        entry.email(), status, entry.photoUrl())))));
+    }
+
+    private synchronized void apply(Runnable update) {
+        if (loaded && !buffering) {
+            update.run();
+        } else {
+            pendingUpdates.add(update);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private synchronized void put(MemberTypeaheadResponse entry) {
+        MemberTypeaheadResponse previous = members.put(entry.memberId(), entry);
+        if (previous != null) {
+            tokensOf(previous).forEach(token -> tokens.remove(token + KEY_SEPARATOR + previous.memberId()));
+        }
+        tokensOf(entry).forEach(token -> tokens.put(token + KEY_SEPARATOR + entry.memberId(), entry.memberId()));
+        if (log.isTraceEnabled()) {
+            log.trace("Indexed member ID: {} for typeahead", entry.memberId());
+        }
+    }
+
+    private static Set<String> tokensOf(MemberTypeaheadResponse entry) {
+        Set<String> result = new LinkedHashSet<>();
+        addToken(result, entry.memberId());
+        addToken(result, entry.email());
+        if (entry.fullName() != null) {
+            addToken(result, entry.fullName());
+            for (String part : entry.fullName().split("\\s+")) {
+                addToken(result, part);
+            }
+        }
+        if (entry.phoneNumber() != null) {
+            addToken(result, entry.phoneNumber().replaceAll("\\D", ""));
+        }
+        return result;
+    }
+
+    private static void addToken(Set<String> result, String value) {
+        String token = normalize(value);
+        if (!token.isEmpty()) {
+            result.add(token);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,149 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.jatana.gymmembershipmanagemt.model.JobCheckpoint;
+import com.jatana.gymmembershipmanagemt.model.enums.MemberStatus;
+import com.jatana.gymmembershipmanagemt.model.enums.MembershipStatus;
+import com.jatana.gymmembershipmanagemt.repo.JobCheckpointRepo;
+import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
+import com.jatana.gymmembershipmanagemt.repo.MembershipRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moves memberships whose end date has passed from ACTIVE to COMPLETED, and marks members INACTIVE
+ * once their current membership has completed.
+ * <p>
+ * Runs daily on {@code membership.expiry.cron} and once at startup to catch up after downtime.
+ * Memberships are handled in chunks of {@code membership.expiry.chunk-size}, one transaction per
+ * chunk, so locks stay short and an interrupted run keeps the chunks it finished. The last fully
+ * processed end date is stored as a high-water mark, so each run only reads memberships that
+ * expired since the previous one; {@link MembershipService#addMembership} creates memberships
+ * that have already ended as COMPLETED, so nothing is ever added below the mark.
+ * <p>
+ * Every instance of the application runs the job, so runs may overlap. Each update only changes
+ * rows still in the state it expects, so a chunk that another run already handled changes
+ * nothing, and the mark is only ever moved forward. The in-process lock just keeps one instance
+ * from running the job twice at once.
+ */
+@Slf4j
+@Service
+public class MembershipExpiryService {
+
+    private static final String JOB_NAME = "membership-expiry";
+
+    // No membership ends before this, so it serves as the mark before the first run
+    private static final LocalDate INITIAL_HIGH_WATER_MARK = LocalDate.EPOCH;
+
+    @Autowired
+    private MembershipRepo membershipRepo;
+
+    @Autowired
+    private MemberRepo memberRepo;
+
+    @Autowired
+    private JobCheckpointRepo jobCheckpointRepo;
+
+    @Autowired
+    private MemberTypeaheadService memberTypeaheadService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${membership.expiry.chunk-size:500}")
+    private int chunkSize;
+
+    private final ReentrantLock running = new ReentrantLock();
+
+    private record ChunkResult(int selected, int completed, int deactivated) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void expireMembershipsOnStartup() {
+        expireMemberships();
+    }
+
+    @Scheduled(cron = "${membership.expiry.cron:0 5 0 * * *}")
+    public void expireMemberships() {
+        if (!running.tryLock()) {
+            log.info("Membership expiry already running, skipping this trigger");
+            return;
+        }
+
+        try {
+            LocalDate today = LocalDate.now();
+            LocalDate highWaterMark = jobCheckpointRepo.findById(JOB_NAME)
+                    .map(JobCheckpoint::getHighWaterMark)
+                    .orElse(INITIAL_HIGH_WATER_MARK);
+            LocalDate lastExpiredDate = today.minusDays(1);
+            if (!highWaterMark.isBefore(lastExpiredDate)) {
+                log.debug("Memberships are already expired up to {}", highWaterMark);
+                return;
+            }
+
+            log.info("Expiring memberships ending after {} and before {}", highWaterMark, today);
+            long startedAt = System.nanoTime();
+            int completedMemberships = 0;
+            int deactivatedMembers = 0;
+
+            while (true) {
+                ChunkResult chunk = transactionTemplate.execute(status -> expireChunk(highWaterMark, today));
+                completedMemberships += chunk.completed();
+                deactivatedMembers += chunk.deactivated();
+                if (chunk.selected() < chunkSize) {
+                    break;
+                }
+            }
+
+            transactionTemplate.executeWithoutResult(status ->
+                    jobCheckpointRepo.advanceHighWaterMark(JOB_NAME, lastExpiredDate, LocalDateTime.now()));
+            log.info("Finished membership expiry - completed memberships: {}, deactivated members: {}, high-water mark: {}, took {} ms",
+                    completedMemberships, deactivatedMembers, lastExpiredDate, (System.nanoTime() - startedAt) / 1_000_000);
+
+        } catch (Exception e) {
+            // The high-water mark is not advanced, so the next run picks up where this one stopped
+            log.error("Failed to expire memberships. Error: {}", e.getMessage(), e);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private ChunkResult expireChunk(LocalDate after, LocalDate before) {
+        List<String> membershipIds = membershipRepo.findMembershipIdsEndingBetween(
+                MembershipStatus.ACTIVE, after, before, Limit.of(chunkSize));
+        if (membershipIds.isEmpty()) {
+            return new ChunkResult(0, 0, 0);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int completed = membershipRepo.updateMembershipStatus(
+                membershipIds, MembershipStatus.ACTIVE, MembershipStatus.COMPLETED, now);
+
+        // Locks the members whose current membership just ended, so a renewal waits for this chunk
+        // and then reactivates the member
+        memberRepo.updateCurrentMembershipStatus(membershipIds, MembershipStatus.COMPLETED);
+        List<String> memberIds = memberRepo.findMemberIdsByCurrentMembership(
+                membershipIds, MemberStatus.ACTIVE.toString());
+
+        int deactivated = 0;
+        if (!memberIds.isEmpty()) {
+            deactivated = memberRepo.deactivateOnExpiry(
+                    memberIds, MemberStatus.ACTIVE.toString(), MemberStatus.INACTIVE.toString(), now);
+            memberTypeaheadService.indexStatus(memberIds, MemberStatus.INACTIVE);
+        }
+
+        log.debug("Expired chunk of {} membership(s), deactivated {} member(s)", completed, deactivated);
+        return new ChunkResult(membershipIds.size(), completed, deactivated);
+    }
+}
@@ -2,20 +2,22 @@ package com.jatana.gymmembershipmanagemt.service;
 
 import com.jatana.gymmembershipmanagemt.model.Membership;
 import com.jatana.gymmembershipmanagemt.model.Payment;
-import com.jatana.gymmembershipmanagemt.model.Plan;
 import com.jatana.gymmembershipmanagemt.model.dto.request.MembershipRequest;
 import com.jatana.gymmembershipmanagemt.model.dto.response.*;
+import com.jatana.gymmembershipmanagemt.model.enums.MemberStatus;
 import com.jatana.gymmembershipmanagemt.model.enums.MembershipStatus;
+import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
 import com.jatana.gymmembershipmanagemt.repo.MembershipRepo;
 import com.jatana.gymmembershipmanagemt.repo.PaymentRepo;
-import com.jatana.gymmembershipmanagemt.repo.PlanRepo;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -23,6 +25,9 @@ import java.util.stream.Collectors;
 @Service
 public class MembershipService {
 
+    @Autowired
+    private MemberRepo memberRepo;
+
     @Autowired
     private MembershipRepo membershipRepo;
 
@@ -30,7 +35,13 @@ public class MembershipService {
     private PaymentRepo paymentRepo;
 
     @Autowired
-    private PlanRepo planRepo;
+    private PlanService planService;
+
+    @Autowired
+    private MemberTypeaheadService memberTypeaheadService;
+
+    @Autowired
+    private RevenueReportService revenueReportService;
 
     @Transactional
     public MembershipResponse addMembership(String memberId, MembershipRequest membershipRequest) {
@@ -49,7 +60,10 @@ public class MembershipService {
             membership.setStartDate(membershipRequest.startDate());
             membership.setEndDate(membershipRequest.endDate());
             membership.setPricePaid(membershipRequest.pricePaid());
-            membership.setMembershipStatus(MembershipStatus.ACTIVE);
+            // A membership that has already ended is stored as completed; the expiry job only looks
+            // at memberships ending after its high-water mark
+            boolean ended = membershipRequest.endDate() != null && membershipRequest.endDate().isBefore(LocalDate.now());
+            membership.setMembershipStatus(ended ? MembershipStatus.COMPLETED : MembershipStatus.ACTIVE);
             membership.setCreatedAt(LocalDateTime.now());
             membership.setUpdatedAt(LocalDateTime.now());
 
@@ -57,7 +71,29 @@ public class MembershipService {
             log.info("Successfully created membership with ID: {} for member ID: {}", 
                     savedMembership.getMembershipId(), memberId);
 
-            MembershipResponse membershipResponse = getMembershipResponseFromMembership(savedMembership);
+            // Keep the member's current-membership snapshot in step; the condition makes a backdated
+            // membership leave a later one in place even when two are added concurrently
+            int snapshotUpdated = memberRepo.updateCurrentMembershipIfLatest(memberId,
+                    savedMembership.getMembershipId(), savedMembership.getEndDate(), savedMembership.getMembershipStatus());
+            log.debug("Current membership snapshot for member ID: {} {}", memberId,
+                    snapshotUpdated > 0 ? "updated" : "kept, a later membership exists");
+
+            // The member's status follows a new current membership the way the expiry job would set
+            // it: a membership that has already ended marks the member inactive, since the job will
+            // never see it, and a renewal brings back a member the job marked inactive
+            if (snapshotUpdated > 0 && ended) {
+                if (memberRepo.deactivateOnExpiry(List.of(memberId), MemberStatus.ACTIVE.toString(),
+                        MemberStatus.INACTIVE.toString(), LocalDateTime.now()) > 0) {
+                    memberTypeaheadService.indexStatus(List.of(memberId), MemberStatus.INACTIVE);
+                    log.info("Deactivated member ID: {} with ended membership ID: {}", memberId, savedMembership.getMembershipId());
+                }
+            } else if (snapshotUpdated > 0) {
+                if (memberRepo.reactivateAfterExpiry(memberId, MemberStatus.ACTIVE.toString(),
+                        MemberStatus.INACTIVE.toString(), LocalDateTime.now()) > 0) {
+                    memberTypeaheadService.indexStatus(List.of(memberId), MemberStatus.ACTIVE);
+                    log.info("Reactivated member ID: {} with new membership ID: {}", memberId, savedMembership.getMembershipId());
+                }
+            }
 
             log.debug("Creating payment record for membership ID: {}, amount: {}", 
                     savedMembership.getMembershipId(), membershipRequest.pricePaid());
@@ -72,10 +108,12 @@ public class MembershipService {
             payment.setCreatedAt(LocalDateTime.now());
 
             Payment savedPayment = paymentRepo.save(payment);
+            revenueReportService.recordPayment(savedPayment, savedMembership.getPlanId());
             log.info("Successfully created payment record with ID: {} for membership ID: {}", 
                     savedPayment.getPaymentId(), savedMembership.getMembershipId());
 
-            return membershipResponse;
+            return getMembershipResponseFromMembership(
+                    savedMembership, List.of(getPaymentResponseFromPayment(savedPayment)));
             
         } catch (IllegalArgumentException e) {
             throw e;
@@ -86,13 +124,26 @@ public class MembershipService {
         }
     }
 
-    private static MembershipResponse getMembershipResponseFromMembership(Membership membership) {
+    private static MembershipResponse getMembershipResponseFromMembership(Membership membership,
+                                                                          List<PaymentResponse> payments) {
         return new MembershipResponse(
                 membership.getMembershipId(),
                 membership.getStartDate(),
                 membership.getEndDate(),
                 membership.getPricePaid(),
-                membership.getMembershipStatus()
+                membership.getMembershipStatus(),
+                payments
+        );
+    }
+
+    private static PaymentResponse getPaymentResponseFromPayment(Payment payment) {
+        return new PaymentResponse(
+                payment.getPaymentId(),
+                payment.getPricePaid(),
+                payment.getPaymentDateTime(),
+                payment.getPaymentMethod(),
+                payment.getTransactionId(),
+                payment.getReceiptUrl()
         );
     }
 
@@ -121,23 +172,16 @@ public class MembershipService {
             log.debug("Found membership - ID: {}, status: {}", 
                     membershipId, membership.getMembershipStatus());
             
-            MembershipResponse membershipResponse = getMembershipResponseFromMembership(membership);
-
             // Fetch payments
             log.debug("Fetching payments for membership ID: {}", membershipId);
             List<Payment> payments = paymentRepo.getPaymentsByMembershipId(membershipId);
             log.debug("Found {} payment(s) for membership ID: {}", payments.size(), membershipId);
 
             List<PaymentResponse> paymentResponses = payments.stream()
-                    .map(payment -> new PaymentResponse(
-                            payment.getPaymentId(),
-                            payment.getPricePaid(),
-                            payment.getPaymentDateTime(),
-                            payment.getPaymentMethod(),
-                            payment.getTransactionId(),
-                            payment.getReceiptUrl() // Fixed: was using transactionId twice
-                    ))
-                    .collect(Collectors.toList());
+                    .map(MembershipService::getPaymentResponseFromPayment)
+                    .toList();
+
+            MembershipResponse membershipResponse = getMembershipResponseFromMembership(membership, paymentResponses);
 
             // Fetch plan details
             String planId = membership.getPlanId();
@@ -145,17 +189,10 @@ public class MembershipService {
             
             if (planId != null) {
                 log.debug("Fetching plan details for plan ID: {}", planId);
-                Optional<Plan> planOptional = planRepo.findById(planId);
+                Optional<PlanResponse> planOptional = planService.findPlan(planId);
                 
                 if (planOptional.isPresent()) {
-                    Plan plan = planOptional.get();
-                    planResponse = new PlanResponse(
-                            plan.getPlanId(),
-                                    plan.getPlanName(),
-                                    plan.getDurationMonths(),
-                                    plan.getPrice(),
-                                    plan.getDescription()
-                    );
+                    planResponse = planOptional.get();
                     log.debug("Successfully retrieved plan details for plan ID: {}", planId);
                 } else {
                     log.warn("Plan not found with ID: {} for membership ID: {}", 
@@ -192,8 +229,18 @@ public class MembershipService {
             List<Membership> memberships = membershipRepo.findMembershipByMemberId(memberId);
             log.debug("Found {} membership(s) for member ID: {}", memberships.size(), memberId);
 
+            // One query for the payments of every membership instead of one per membership
+            Map<String, List<PaymentResponse>> paymentsByMembershipId = memberships.isEmpty()
+                    ? Map.of()
+                    : paymentRepo.getPaymentsByMemberId(memberId).stream()
+                            .collect(Collectors.groupingBy(
+                                    Payment::getMembershipId,
+                                    Collectors.mapping(MembershipService::getPaymentResponseFromPayment, Collectors.toList())));
+
             List<MembershipResponse> membershipResponses = memberships.stream()
-                    .map(MembershipService::getMembershipResponseFromMembership)
+                    .map(membership -> getMembershipResponseFromMembership(
+                            membership,
+                            paymentsByMembershipId.getOrDefault(membership.getMembershipId(), List.of())))
                     .collect(Collectors.toList());
             
             log.info("Successfully retrieved {} membership(s) for member ID: {}", 
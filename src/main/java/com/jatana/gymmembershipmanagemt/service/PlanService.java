@@ -1,17 +1,24 @@
 package com.jatana.gymmembershipmanagemt.service;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.jatana.gymmembershipmanagemt.config.CacheConfig;
 import com.jatana.gymmembershipmanagemt.model.Plan;
 import com.jatana.gymmembershipmanagemt.model.dto.request.PlanRequest;
+import com.jatana.gymmembershipmanagemt.model.dto.response.CacheStatsResponse;
 import com.jatana.gymmembershipmanagemt.model.dto.response.PlanResponse;
 import com.jatana.gymmembershipmanagemt.repo.PlanRepo;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -19,7 +26,14 @@ public class PlanService {
     
     @Autowired
     private PlanRepo planRepo;
+
+    @Autowired
+    private CacheManager cacheManager;
     
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PLANS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PLAN_CACHE, key = "#planRequest.planName()")
+    })
     public PlanResponse createPlan(PlanRequest planRequest) {
         log.info("Creating new plan with name: {}", planRequest.planName());
         String planId = planRequest.planName();
@@ -71,13 +85,14 @@ public class PlanService {
         return plan;
     }
 
+    @Cacheable(CacheConfig.PLANS_CACHE)
     public List<PlanResponse> getPlans() {
         log.info("Fetching all plans");
         
         try {
             List<PlanResponse> plans = planRepo.findAll().stream()
                     .map(this::gerPlanResponseFromPlan)
-                    .collect(Collectors.toList());
+                    .toList();
             
             log.info("Successfully retrieved {} plan(s)", plans.size());
             return plans;
@@ -87,6 +102,7 @@ public class PlanService {
         }
     }
 
+    @Cacheable(cacheNames = CacheConfig.PLAN_CACHE, key = "#planId")
     public PlanResponse getPlan(String planId) {
         log.info("Fetching plan with ID: {}", planId);
         
@@ -101,6 +117,20 @@ public class PlanService {
         throw new IllegalArgumentException("Plan not found with ID: " + planId);
     }
 
+    /**
+     * Cached lookup for callers that treat a missing plan as a normal case. Shares the
+     * {@code plan} cache with {@link #getPlan(String)}; misses are not cached.
+     */
+    @Cacheable(cacheNames = CacheConfig.PLAN_CACHE, key = "#planId", unless = "#result == null")
+    public Optional<PlanResponse> findPlan(String planId) {
+        log.debug("Looking up plan with ID: {}", planId);
+        return planRepo.findById(planId).map(this::gerPlanResponseFromPlan);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PLANS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PLAN_CACHE, key = "#planId")
+    })
     public void deletePlan(String planId) {
         log.info("Attempting to delete plan with ID: {}", planId);
         
@@ -121,6 +151,10 @@ public class PlanService {
         }
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PLANS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PLAN_CACHE, key = "#planRequest.planName()")
+    })
     public PlanResponse updatePlan(PlanRequest planRequest) {
         String planId = planRequest.planName();
         log.info("Updating plan with ID: {}", planId);
@@ -153,4 +187,23 @@ public class PlanService {
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    public List<CacheStatsResponse> getCacheStats() {
+        return List.of(CacheConfig.PLANS_CACHE, CacheConfig.PLAN_CACHE).stream()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(cache -> {
+                    CacheStats stats = cache.getNativeCache().stats();
+                    return new CacheStatsResponse(
+                            cache.getName(),
+                            cache.getNativeCache().estimatedSize(),
+                            stats.hitCount(),
+                            stats.missCount(),
+                            stats.evictionCount(),
+                            stats.hitRate()
+                    );
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,144 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.jatana.gymmembershipmanagemt.model.JobCheckpoint;
+import com.jatana.gymmembershipmanagemt.model.Payment;
+import com.jatana.gymmembershipmanagemt.model.RevenueDailyRollup;
+import com.jatana.gymmembershipmanagemt.model.dto.response.RevenueBucketResponse;
+import com.jatana.gymmembershipmanagemt.model.dto.response.RevenueReportResponse;
+import com.jatana.gymmembershipmanagemt.model.enums.RevenueGroupBy;
+import com.jatana.gymmembershipmanagemt.repo.JobCheckpointRepo;
+import com.jatana.gymmembershipmanagemt.repo.PaymentRepo;
+import com.jatana.gymmembershipmanagemt.repo.RevenueDailyRollupRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Revenue reporting served from {@link RevenueDailyRollup} rows.
+ * <p>
+ * {@link MembershipService#addMembership} adds every payment to its day/plan/method row in the same
+ * transaction, so a report only reads one row per day, plan and method in the range and groups them
+ * in memory; the payment table is never aggregated on the read path. Payments recorded before the
+ * rollup existed are folded in once at startup, with new payments held back until that commits.
+ */
+@Slf4j
+@Service
+public class RevenueReportService {
+
+    private static final String BACKFILL_JOB_NAME = "revenue-rollup-backfill";
+    private static final String NO_VALUE_KEY = "NONE";
+
+    @Autowired
+    private RevenueDailyRollupRepo revenueDailyRollupRepo;
+
+    @Autowired
+    private JobCheckpointRepo jobCheckpointRepo;
+
+    @Autowired
+    private PaymentRepo paymentRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillRollups() {
+        if (jobCheckpointRepo.existsById(BACKFILL_JOB_NAME)) {
+            return;
+        }
+
+        try {
+            long startedAt = System.nanoTime();
+            Integer rows = transactionTemplate.execute(status -> {
+                // Payments recorded while the rollup is rebuilt would be overwritten by it, so new
+                // ones wait until it commits; another instance may have finished the backfill while
+                // this one waited
+                paymentRepo.lockAgainstNewPayments();
+                if (jobCheckpointRepo.existsById(BACKFILL_JOB_NAME)) {
+                    return null;
+                }
+                int rebuilt = revenueDailyRollupRepo.rebuildFromPayments();
+                jobCheckpointRepo.save(new JobCheckpoint(BACKFILL_JOB_NAME, LocalDate.now(), LocalDateTime.now()));
+                return rebuilt;
+            });
+            if (rows != null) {
+                log.info("Backfilled {} revenue rollup row(s) from existing payments in {} ms",
+                        rows, (System.nanoTime() - startedAt) / 1_000_000);
+            }
+        } catch (Exception e) {
+            log.error("Failed to backfill revenue rollups. Error: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Adds the payment to its rollup row. Must run in the transaction that saves the payment, so the
+     * rollup never counts a payment that was rolled back.
+     */
+    public void recordPayment(Payment payment, String planId) {
+        LocalDate revenueDate = (payment.getPaymentDateTime() != null
+                ? payment.getPaymentDateTime()
+                : payment.getCreatedAt()).toLocalDate();
+
+        revenueDailyRollupRepo.addPayment(
+                RevenueDailyRollup.rollupIdOf(revenueDate, planId, payment.getPaymentMethod()),
+                revenueDate,
+                planId,
+                payment.getPaymentMethod() == null ? null : payment.getPaymentMethod().ordinal(),
+                payment.getPricePaid()
+        );
+        log.debug("Added payment ID: {} to revenue rollup for {}, plan ID: {}, method: {}",
+                payment.getPaymentId(), revenueDate, planId, payment.getPaymentMethod());
+    }
+
+    public RevenueReportResponse getRevenueReport(LocalDate from, LocalDate to, RevenueGroupBy groupBy) {
+        log.info("Building revenue report from {} to {} grouped by {}", from, to, groupBy);
+
+        if (from.isAfter(to)) {
+            log.error("Invalid revenue report range - from: {} is after to: {}", from, to);
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+
+        try {
+            List<RevenueDailyRollup> rollups = revenueDailyRollupRepo.findByRevenueDateBetween(from, to);
+            log.debug("Read {} revenue rollup row(s) from {} to {}", rollups.size(), from, to);
+
+            Function<RevenueDailyRollup, String> keyOf = switch (groupBy) {
+                case DAY -> rollup -> rollup.getRevenueDate().toString();
+                case MONTH -> rollup -> YearMonth.from(rollup.getRevenueDate()).toString();
+                case PLAN -> rollup -> rollup.getPlanId() != null ? rollup.getPlanId() : NO_VALUE_KEY;
+                case PAYMENT_METHOD -> rollup -> rollup.getPaymentMethod() != null
+                        ? rollup.getPaymentMethod().name()
+                        : NO_VALUE_KEY;
+            };
+
+            Map<String, RevenueBucketResponse> buckets = new TreeMap<>();
+            long totalPayments = 0;
+            double totalRevenue = 0;
+            for (RevenueDailyRollup rollup : rollups) {
+                String key = keyOf.apply(rollup);
+                buckets.merge(key, new RevenueBucketResponse(key, rollup.getPaymentCount(), rollup.getRevenue()),
+                        (a, b) -> new RevenueBucketResponse(a.key(),
+                                a.paymentCount() + b.paymentCount(), a.revenue() + b.revenue()));
+                totalPayments += rollup.getPaymentCount();
+                totalRevenue += rollup.getRevenue();
+            }
+
+            log.info("Successfully built revenue report with {} bucket(s), {} payment(s)", buckets.size(), totalPayments);
+            return new RevenueReportResponse(from, to, groupBy, totalPayments, totalRevenue, List.copyOf(buckets.values()));
+
+        } catch (Exception e) {
+            log.error("Failed to build revenue report from {} to {}. Error: {}", from, to, e.getMessage(), e);
+            throw new RuntimeException("Failed to build revenue report", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import java.nio.file.Path;
+
+/**
+ * An uploaded file written to the local spool directory, with the SHA-256 of its content and its
+ * size in bytes computed while it was written.
+ */
+record SpooledUpload(
+        Path file,
+        String contentHash,
+        long size
+) {
+}
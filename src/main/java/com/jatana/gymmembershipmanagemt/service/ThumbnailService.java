@@ -0,0 +1,101 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Creates small JPEG thumbnails of member photos for list pages, so clients do not download the
+ * full-resolution original for every row.
+ * <p>
+ * The source is decoded with subsampling, so only about twice the target resolution is ever held
+ * in memory.
+ */
+@Slf4j
+@Service
+public class ThumbnailService {
+
+    @Value("${document.thumbnail.size:160}")
+    private int thumbnailSize;
+
+    /**
+     * Returns a JPEG thumbnail that fits in a {@code document.thumbnail.size} square, or empty when
+     * the file is not an image format ImageIO can read.
+     */
+    public Optional<byte[]> createThumbnail(Path image) throws IOException {
+        BufferedImage source = readSubsampled(image);
+        if (source == null) {
+            log.warn("Cannot create thumbnail - unsupported image format: {}", image.getFileName());
+            return Optional.empty();
+        }
+
+        byte[] thumbnail = toJpeg(scale(source));
+        log.debug("Created thumbnail - source: {}x{}, size: {} bytes",
+                source.getWidth(), source.getHeight(), thumbnail.length);
+        return Optional.of(thumbnail);
+    }
+
+    private BufferedImage readSubsampled(Path image) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(image.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                // Decode every n-th pixel so a 12MP photo never lands on the heap at full size
+                int subsampling = Math.max(1, Math.min(width, height) / (thumbnailSize * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage source) {
+        double ratio = Math.min(1.0, (double) thumbnailSize / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        // JPEG has no alpha channel, so transparent areas are painted white
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] toJpeg(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        if (!ImageIO.write(image, "jpg", out)) {
+            throw new IOException("No JPEG writer available");
+        }
+        return out.toByteArray();
+    }
+}
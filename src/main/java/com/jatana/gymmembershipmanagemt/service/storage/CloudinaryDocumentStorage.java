@@ -0,0 +1,44 @@
+package com.jatana.gymmembershipmanagemt.service.storage;
+
+import com.cloudinary.Cloudinary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "document.storage", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryDocumentStorage implements DocumentStorage {
+
+    private static final String FOLDER = "member-documents/";
+
+    @Autowired
+    private Cloudinary cloudinary;
+
+    @Override
+    public StoredDocument store(String contentHash, Path file) throws IOException {
+        Map<String, Object> params = Map.of(
+                "public_id", FOLDER + contentHash,
+                "overwrite", false
+        );
+
+        // Hand Cloudinary the File so the body is streamed from disk in small chunks instead of being
+        // copied onto the heap with getBytes()
+        Map<?, ?> uploadedResult = cloudinary.uploader().upload(file.toFile(), params);
+
+        // Without overwrite Cloudinary keeps the asset already stored under this public id
+        boolean existing = Boolean.TRUE.equals(uploadedResult.get("existing"));
+        return new StoredDocument(contentHash, uploadedResult.get("secure_url").toString(), !existing);
+    }
+
+    @Override
+    public void delete(String storageKey) throws IOException {
+        log.debug("Deleting document from Cloudinary - public ID: {}", FOLDER + storageKey);
+        cloudinary.uploader().destroy(FOLDER + storageKey, Map.of("invalidate", true));
+    }
+}
@@ -0,0 +1,28 @@
+package com.jatana.gymmembershipmanagemt.service.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Stores uploaded member documents. The active backend is chosen with the {@code document.storage}
+ * property: {@code cloudinary} (default) or {@code local}.
+ * <p>
+ * Blobs are addressed by the SHA-256 of their content, so identical files are stored once and a
+ * stored blob never changes once other documents point at it.
+ */
+public interface DocumentStorage {
+
+    /**
+     * Stores the file under its content hash and returns where it can be downloaded. Storing content
+     * that is already present returns the existing blob with {@code created == false}. The file is
+     * only read; the caller still owns it afterwards.
+     *
+     * @param contentHash lower-case hex SHA-256 of the file, also used as the storage key
+     */
+    StoredDocument store(String contentHash, Path file) throws IOException;
+
+    /**
+     * Removes a blob previously returned by {@link #store}. Missing blobs are ignored.
+     */
+    void delete(String storageKey) throws IOException;
+}
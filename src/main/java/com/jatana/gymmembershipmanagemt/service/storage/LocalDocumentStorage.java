@@ -0,0 +1,96 @@
+package com.jatana.gymmembershipmanagemt.service.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Stores documents on the local filesystem under their SHA-256 content hash, e.g.
+ * {@code <root>/3f/3f6c...}. Identical files are therefore stored once, and a stored blob never
+ * changes, so downloads can be cached indefinitely.
+ * <p>
+ * Files are copied with {@link FileChannel#transferTo}, which lets the kernel move the bytes
+ * without copying them through the heap, into a temporary file that is then atomically renamed
+ * into place so readers never see a partial blob.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "document.storage", havingValue = "local")
+public class LocalDocumentStorage implements DocumentStorage {
+
+    private static final Pattern STORAGE_KEY = Pattern.compile("[0-9a-f]{64}");
+
+    @Value("${document.storage.local.root:data/documents}")
+    private Path root;
+
+    @Value("${document.storage.local.public-url:/api/documents/files}")
+    private String publicUrl;
+
+    @Override
+    public StoredDocument store(String contentHash, Path file) throws IOException {
+        String storageKey = contentHash;
+        Path target = pathOf(storageKey);
+        String url = publicUrl + "/" + storageKey;
+
+        if (Files.exists(target)) {
+            log.debug("Document content already stored - key: {}", storageKey);
+            return new StoredDocument(storageKey, url, false);
+        }
+
+        Files.createDirectories(target.getParent());
+        Path tempFile = Files.createTempFile(target.getParent(), storageKey, ".tmp");
+        try {
+            try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ);
+                 FileChannel destination = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                long size = source.size();
+                for (long position = 0; position < size; ) {
+                    position += source.transferTo(position, size - position, destination);
+                }
+                destination.force(true);
+            }
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Stored document locally - key: {}", storageKey);
+            return new StoredDocument(storageKey, url, true);
+        } catch (FileAlreadyExistsException e) {
+            // A concurrent upload of the same content won the rename
+            return new StoredDocument(storageKey, url, false);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public void delete(String storageKey) throws IOException {
+        log.debug("Deleting locally stored document - key: {}", storageKey);
+        Files.deleteIfExists(pathOf(storageKey));
+    }
+
+    /**
+     * Returns the stored file for a key, or empty if nothing is stored under it.
+     *
+     * @throws IllegalArgumentException if the key is not a SHA-256 hex string
+     */
+    public Optional<Path> resolve(String storageKey) {
+        Path path = pathOf(storageKey);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    private Path pathOf(String storageKey) {
+        // The key is also the URL path segment, so it must never be able to escape the root
+        if (storageKey == null || !STORAGE_KEY.matcher(storageKey).matches()) {
+            throw new IllegalArgumentException("Invalid document key: " + storageKey);
+        }
+        return root.resolve(storageKey.substring(0, 2)).resolve(storageKey);
+    }
+}
@@ -0,0 +1,15 @@
+package com.jatana.gymmembershipmanagemt.service.storage;
+
+/**
+ * Result of {@link DocumentStorage#store}.
+ *
+ * @param storageKey content hash that identifies the stored blob for {@link DocumentStorage#delete}
+ * @param url        URL under which the blob can be downloaded
+ * @param created    {@code false} when identical content was already stored
+ */
+public record StoredDocument(
+        String storageKey,
+        String url,
+        boolean created
+) {
+}
@@ -0,0 +1,171 @@
+package com.jatana.gymmembershipmanagemt.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 support: comma separated fields, optionally quoted, with {@code ""} as an escaped
+ * quote inside a quoted field. Quoted fields may span lines, as {@link #escape} writes values that
+ * contain line breaks.
+ */
+public class Csv {
+
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    /**
+     * Parses the first record of the text, which may span lines inside quoted fields.
+     *
+     * @throws IllegalArgumentException if a quoted field is not terminated
+     */
+    public static List<String> parseLine(String line) {
+        try {
+            List<String> record = new RecordReader(new StringReader(line), Integer.MAX_VALUE).next();
+            return record != null ? record : List.of("");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Like {@link #escape}, for files meant to be opened in a spreadsheet. Text starting with
+     * {@code =}, {@code +}, {@code -}, {@code @}, tab or CR would run as a formula there, so it is
+     * quoted with a leading {@code '}, which the spreadsheet shows as text. Numbers are left as they
+     * are, so a negative amount stays a number.
+     */
+    public static String escapeForSpreadsheet(Object value) {
+        if (value == null || value instanceof Number) {
+            return escape(value);
+        }
+        String text = value.toString();
+        if (text.isEmpty() || FORMULA_PREFIXES.indexOf(text.charAt(0)) < 0) {
+            return escape(text);
+        }
+        return "\"'" + text.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Reads records one at a time from a stream, carrying the quote state across lines so a quoted
+     * field keeps its line breaks exactly as written. Records end at an unquoted LF, CRLF or CR.
+     * <p>
+     * A malformed record, one with an unterminated quoted field or longer than the limit, cannot be
+     * told apart from the records after it, so it fails the read and the reader returns no more
+     * records.
+     */
+    public static class RecordReader {
+
+        private final Reader reader;
+        private final int maxRecordLength;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+
+        private long lineNumber;
+        private long recordLineNumber;
+        private boolean done;
+
+        public RecordReader(Reader reader, int maxRecordLength) {
+            this.reader = reader;
+            this.maxRecordLength = maxRecordLength;
+        }
+
+        /**
+         * Returns the fields of the next record, or null at the end of the input. An empty line is a
+         * record with one empty field.
+         *
+         * @throws IllegalArgumentException if the record is malformed
+         */
+        public List<String> next() throws IOException {
+            if (done || !fill()) {
+                done = true;
+                return null;
+            }
+
+            lineNumber++;
+            recordLineNumber = lineNumber;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int length = 0;
+
+            while (fill()) {
+                char c = buffer[position++];
+                if (++length > maxRecordLength) {
+                    done = true;
+                    throw new IllegalArgumentException("Record is longer than " + maxRecordLength + " characters");
+                }
+
+                if (quoted) {
+                    if (c == '"') {
+                        if (fill() && buffer[position] == '"') {
+                            field.append('"');
+                            position++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n' || (c == '\r' && !(fill() && buffer[position] == '\n'))) {
+                            lineNumber++;
+                        }
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c == '\r') {
+                    if (fill() && buffer[position] == '\n') {
+                        position++;
+                    }
+                    break;
+                } else {
+                    field.append(c);
+                }
+            }
+
+            if (quoted) {
+                done = true;
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        /**
+         * Line on which the record last returned or rejected by {@link #next()} starts, counting from 1.
+         */
+        public long lineNumber() {
+            return recordLineNumber;
+        }
+
+        private boolean fill() throws IOException {
+            if (position < limit) {
+                return true;
+            }
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.jatana.gymmembershipmanagemt.util;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQL statements and JDBC execution time of one unit of work, usually an HTTP request.
+ * <p>
+ * The stats are bound to the current thread with {@link #bind(QueryStats)} and picked up by the
+ * Hibernate hooks in {@code config}. Subtasks forked through {@link SubtaskScope} are bound to the
+ * stats of the thread that forked them, so a request that loads its parts in parallel is still
+ * counted as one. Counters are therefore safe to update from several threads.
+ * <p>
+ * Statements are also counted by SQL text: the same statement executed many times in one request
+ * is the signature of an N+1 query.
+ */
+public class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder executionNanos = new LongAdder();
+    private final Map<String, LongAdder> statementsBySql = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the stats bound to this thread, or {@code null} outside a counted unit of work.
+     */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds the stats to this thread until the returned binding is closed, which restores whatever
+     * was bound before. Binding {@code null} stops counting on this thread.
+     */
+    public static Binding bind(QueryStats stats) {
+        QueryStats previous = CURRENT.get();
+        CURRENT.set(stats);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    public void recordStatement(String sql) {
+        statements.increment();
+        statementsBySql.computeIfAbsent(sql, key -> new LongAdder()).increment();
+    }
+
+    public void recordExecution(long nanos) {
+        executionNanos.add(nanos);
+    }
+
+    public long statementCount() {
+        return statements.sum();
+    }
+
+    public long executionNanos() {
+        return executionNanos.sum();
+    }
+
+    /**
+     * Returns the statement executed most often and how many times, if any statement ran.
+     */
+    public Optional<Map.Entry<String, Long>> mostRepeatedStatement() {
+        return statementsBySql.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .max(Map.Entry.comparingByValue(Comparator.naturalOrder()));
+    }
+
+    public interface Binding extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,40 @@
+package com.jatana.gymmembershipmanagemt.util;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class SearchText {
+
+    /**
+     * Separates the parts of a search text. {@link #keyword} removes it, so a keyword can only match
+     * within one part and never across the end of one and the start of the next.
+     */
+    public static final char SEPARATOR = '\u0001';
+
+    public static String of(String... parts) {
+        return Stream.of(parts)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(String.valueOf(SEPARATOR)))
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Normalises a user supplied keyword for a LIKE match against a search column: lower-cased, without
+     * the {@link #SEPARATOR}, and with LIKE wildcards escaped by a backslash so they are matched
+     * literally. Queries must declare
+     * {@code ESCAPE '\'}: Hibernate otherwise renders LIKE on PostgreSQL with no escape character.
+     */
+    public static String keyword(String keyword) {
+        if (keyword == null) {
+            return "";
+        }
+        return keyword.replace(String.valueOf(SEPARATOR), "")
+                .trim()
+                .toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,138 @@
+package com.jatana.gymmembershipmanagemt.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.slf4j.MDC;
+
+/**
+ * Runs a fixed set of subtasks concurrently and joins them, cancelling the remaining subtasks as
+ * soon as one fails or the scope is closed. Closing the scope waits until every subtask that
+ * started has returned, so no subtask outlives the try-with-resources block that owns the scope,
+ * even when the owner leaves it early with an exception.
+ * <p>
+ * This is a small stand-in for {@code java.util.concurrent.StructuredTaskScope}, which is still a
+ * preview API and would require {@code --enable-preview} at build and run time.
+ */
+public class SubtaskScope implements AutoCloseable {
+
+    private final CompletionService<Object> completionService;
+    private final List<Future<Object>> subtasks = new ArrayList<>();
+
+    // Guarded by this. A cancelled Future reports done while its task may still be running, so
+    // close() waits on this count rather than on the futures
+    private boolean closed;
+    private int running;
+
+    public SubtaskScope(Executor executor) {
+        this.completionService = new ExecutorCompletionService<>(executor);
+    }
+
+    /**
+     * Starts the task and returns a handle whose {@code get()} may only be called after {@link #join()}.
+     * The task counts its queries against the {@link QueryStats} of the forking thread and logs with
+     * its MDC, so subtask logs carry the request ID.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Supplier<T> fork(Callable<? extends T> task) {
+        QueryStats queryStats = QueryStats.current();
+        Map<String, String> logContext = MDC.getCopyOfContextMap();
+        Future<Object> future = completionService.submit(() -> {
+            started();
+            try {
+                Map<String, String> previousLogContext = MDC.getCopyOfContextMap();
+                setLogContext(logContext);
+                try (QueryStats.Binding ignored = QueryStats.bind(queryStats)) {
+                    return task.call();
+                } finally {
+                    setLogContext(previousLogContext);
+                }
+            } finally {
+                finished();
+            }
+        });
+        subtasks.add(future);
+        return () -> (T) future.resultNow();
+    }
+
+    /**
+     * Waits for every forked subtask. Rethrows the first failure after cancelling the others.
+     */
+    public void join() {
+        try {
+            for (int i = 0; i < subtasks.size(); i++) {
+                Future<Object> completed = completionService.take();
+                if (completed.state() == Future.State.FAILED) {
+                    cancelAll();
+                    Throwable cause = completed.exceptionNow();
+                    if (cause instanceof RuntimeException runtimeException) {
+                        throw runtimeException;
+                    }
+                    if (cause instanceof Error error) {
+                        throw error;
+                    }
+                    throw new RuntimeException(cause);
+                }
+            }
+        } catch (InterruptedException e) {
+            cancelAll();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for subtasks", e);
+        }
+    }
+
+    /**
+     * Cancels the subtasks that are still running and waits for them to return. An interrupt while
+     * waiting does not cut the wait short; it is restored once every subtask has returned.
+     */
+    @Override
+    public void close() {
+        cancelAll();
+        boolean interrupted = false;
+        synchronized (this) {
+            closed = true;
+            while (running > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void started() {
+        if (closed) {
+            throw new CancellationException("Scope closed before the subtask started");
+        }
+        running++;
+    }
+
+    private synchronized void finished() {
+        running--;
+        notifyAll();
+    }
+
+    private void cancelAll() {
+        subtasks.forEach(subtask -> subtask.cancel(true));
+    }
+
+    private static void setLogContext(Map<String, String> logContext) {
+        if (logContext == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(logContext);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.jatana.gymmembershipmanagemt;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Boots the full application against PostgreSQL from {@link TestcontainersConfiguration}. Test
+ * classes share one application context and database, so each test works on its own member IDs.
+ * Skipped when no Docker daemon is available.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "cloudinary.cloud.name=test",
+        "cloudinary.api.key=test",
+        "cloudinary.api.secret=test",
+        "document.storage=local",
+        "document.storage.local.root=target/test-documents"
+})
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+public @interface IntegrationTest {
+}
@@ -0,0 +1,142 @@
+package com.jatana.gymmembershipmanagemt.config;
+
+import com.jatana.gymmembershipmanagemt.IntegrationTest;
+import com.jatana.gymmembershipmanagemt.model.Member;
+import com.jatana.gymmembershipmanagemt.model.dto.request.MembershipRequest;
+import com.jatana.gymmembershipmanagemt.model.enums.MemberStatus;
+import com.jatana.gymmembershipmanagemt.model.enums.MembershipStatus;
+import com.jatana.gymmembershipmanagemt.model.enums.PaymentMethod;
+import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
+import com.jatana.gymmembershipmanagemt.service.MembershipService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+@TestPropertySource(properties = "member.snapshot.backfill-batch-size=2")
+class MemberMembershipSnapshotInitializerIntegrationTest {
+
+    @Autowired
+    private MemberMembershipSnapshotInitializer initializer;
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private MemberRepo memberRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void backfillWritesTheSnapshotAddMembershipWrites() {
+        LocalDate today = LocalDate.now();
+
+        String latestOfSeveral = saveMember();
+        addMembership(latestOfSeveral, today.minusMonths(6), today.minusMonths(3));
+        addMembership(latestOfSeveral, today, today.plusMonths(6));
+        addMembership(latestOfSeveral, today.minusMonths(3), today);
+
+        // Two memberships ending on the same day: the one added last is current
+        String tiedEndDates = saveMember();
+        addMembership(tiedEndDates, today.minusMonths(1), today.plusMonths(1));
+        addMembership(tiedEndDates, today.minusDays(10), today.plusMonths(1));
+
+        String onlyEnded = saveMember();
+        addMembership(onlyEnded, today.minusMonths(2), today.minusMonths(1));
+        addMembership(onlyEnded, today.minusYears(1), today.minusMonths(11));
+
+        String openEnded = saveMember();
+        addMembership(openEnded, today.minusMonths(1), null);
+        addMembership(openEnded, today.minusMonths(2), today.plusMonths(2));
+
+        String withoutMembership = saveMember();
+
+        List<String> memberIds = List.of(latestOfSeveral, tiedEndDates, onlyEnded, openEnded, withoutMembership);
+        Map<String, Snapshot> written = snapshots(memberIds);
+        assertThat(written.get(withoutMembership)).isEqualTo(new Snapshot(null, null, null));
+        assertThat(written.get(onlyEnded).status()).isEqualTo("COMPLETED");
+
+        // As if the memberships had been added before the snapshot columns existed
+        jdbcTemplate.update("""
+                UPDATE member
+                SET current_membership_id = NULL, current_membership_end_date = NULL, current_membership_status = NULL
+                WHERE member_id IN (?, ?, ?, ?, ?)
+                """, memberIds.toArray());
+
+        initializer.backfillCurrentMembership();
+        assertThat(snapshots(memberIds)).isEqualTo(written);
+
+        // A second run finds nothing to do and leaves every row untouched
+        Map<String, String> rowVersions = rowVersions(memberIds);
+        initializer.backfillCurrentMembership();
+        assertThat(rowVersions(memberIds)).isEqualTo(rowVersions);
+        assertThat(snapshots(memberIds)).isEqualTo(written);
+    }
+
+    private record Snapshot(String membershipId, LocalDate endDate, String status) {
+    }
+
+    private Map<String, Snapshot> snapshots(List<String> memberIds) {
+        Map<String, Snapshot> snapshots = new HashMap<>();
+        for (String memberId : memberIds) {
+            snapshots.put(memberId, jdbcTemplate.queryForObject("""
+                    SELECT current_membership_id, current_membership_end_date, current_membership_status
+                    FROM member WHERE member_id = ?
+                    """, (rs, rowNum) -> new Snapshot(
+                    rs.getString(1),
+                    rs.getObject(2, LocalDate.class),
+                    statusName(rs.getObject(3))), memberId));
+        }
+        return snapshots;
+    }
+
+    // Mapped by ordinal, as MembershipStatus has no @Enumerated
+    private static String statusName(Object ordinal) {
+        if (ordinal == null) {
+            return null;
+        }
+        return MembershipStatus.values()[((Number) ordinal).intValue()].name();
+    }
+
+    // xmin changes whenever PostgreSQL writes a new version of the row
+    private Map<String, String> rowVersions(List<String> memberIds) {
+        Map<String, String> versions = new HashMap<>();
+        for (String memberId : memberIds) {
+            versions.put(memberId, jdbcTemplate.queryForObject(
+                    "SELECT xmin::text FROM member WHERE member_id = ?", String.class, memberId));
+        }
+        return versions;
+    }
+
+    private void addMembership(String memberId, LocalDate startDate, LocalDate endDate) {
+        membershipService.addMembership(memberId, new MembershipRequest("MONTHLY", startDate, endDate, 30.0,
+                startDate.atStartOfDay(), PaymentMethod.CASH, "TXN-" + UUID.randomUUID()));
+    }
+
+    private String saveMember() {
+        String memberId = "snap-" + UUID.randomUUID();
+        Member member = new Member();
+        member.setMemberId(memberId);
+        member.setFirstName("Test");
+        member.setLastName(memberId);
+        member.setFullName("Test " + memberId);
+        member.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        member.setGender("OTHER");
+        member.setMemberStatus(MemberStatus.ACTIVE.toString());
+        member.setCreatedAt(LocalDateTime.now());
+        member.setUpdatedAt(LocalDateTime.now());
+        memberRepo.save(member);
+        return memberId;
+    }
+}
@@ -0,0 +1,90 @@
+package com.jatana.gymmembershipmanagemt.config;
+
+import com.jatana.gymmembershipmanagemt.IntegrationTest;
+import com.jatana.gymmembershipmanagemt.model.Member;
+import com.jatana.gymmembershipmanagemt.model.enums.MemberStatus;
+import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * With {@code spring.jpa.open-in-view=false} the persistence context closes when the repository or
+ * service call returns, so a request cannot lazy-load afterwards and holds no connection for it.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+class OpenInViewIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MemberRepo memberRepo;
+
+    @Test
+    void requestCannotLazyLoadAfterTheRepositoryCallReturns() throws Exception {
+        Member member = saveMember();
+
+        mockMvc.perform(get("/test/lazy-member-name").param("memberId", member.getMemberId()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("not loaded"));
+    }
+
+    @TestConfiguration
+    static class LazyLoadingControllerConfig {
+
+        @Bean
+        LazyLoadingController lazyLoadingController() {
+            return new LazyLoadingController();
+        }
+    }
+
+    @RestController
+    static class LazyLoadingController {
+
+        @Autowired
+        private MemberRepo memberRepo;
+
+        @GetMapping("/test/lazy-member-name")
+        String lazyMemberName(@RequestParam String memberId) {
+            // An uninitialized proxy, loaded on first access only if a persistence context is still open
+            Member member = memberRepo.getReferenceById(memberId);
+            try {
+                return member.getFullName();
+            } catch (LazyInitializationException e) {
+                return "not loaded";
+            }
+        }
+    }
+
+    private Member saveMember() {
+        String memberId = "oiv-" + UUID.randomUUID();
+        Member member = new Member();
+        member.setMemberId(memberId);
+        member.setFirstName("Test");
+        member.setLastName(memberId);
+        member.setFullName("Test " + memberId);
+        member.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        member.setGender("OTHER");
+        member.setMemberStatus(MemberStatus.ACTIVE.toString());
+        member.setCreatedAt(LocalDateTime.now());
+        member.setUpdatedAt(LocalDateTime.now());
+        return memberRepo.save(member);
+    }
+}
@@ -0,0 +1,84 @@
+package com.jatana.gymmembershipmanagemt.config;
+
+import com.jatana.gymmembershipmanagemt.IntegrationTest;
+import com.jatana.gymmembershipmanagemt.model.Member;
+import com.jatana.gymmembershipmanagemt.model.enums.MemberStatus;
+import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "query.budget.endpoints=GET /api/member=1,GET /api/membersByDate=50",
+        "query.budget.action=FAIL"
+})
+class QueryBudgetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MemberRepo memberRepo;
+
+    @Test
+    void requestOverBudgetFailsBeforeItsResponseIsWritten() throws Exception {
+        Member member = saveMember();
+
+        MvcResult result = mockMvc.perform(get("/api/member").param("memberId", member.getMemberId()))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status").value(500))
+                .andExpect(jsonPath("$.message").value(startsWith("Query budget exceeded - GET /api/member ran ")))
+                .andExpect(jsonPath("$.message").value(endsWith("budget: 1")))
+                .andExpect(jsonPath("$.memberId").doesNotExist())
+                .andReturn();
+
+        assertThat(Long.parseLong(result.getResponse().getHeader(QueryBudgetFilter.QUERY_COUNT_HEADER)))
+                .isGreaterThan(1);
+    }
+
+    @Test
+    void requestWithinBudgetReportsItsQueryCount() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/membersByDate").param("endDate", LocalDate.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(QueryBudgetFilter.QUERY_TIME_HEADER))
+                .andReturn();
+
+        assertThat(Long.parseLong(result.getResponse().getHeader(QueryBudgetFilter.QUERY_COUNT_HEADER)))
+                .isBetween(1L, 50L);
+    }
+
+    private Member saveMember() {
+        String memberId = "qb-" + UUID.randomUUID();
+        Member member = new Member();
+        member.setMemberId(memberId);
+        member.setFirstName("Test");
+        member.setLastName(memberId);
+        member.setFullName("Test " + memberId);
+        member.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        member.setGender("OTHER");
+        member.setMemberStatus(MemberStatus.ACTIVE.toString());
+        member.setCreatedAt(LocalDateTime.now());
+        member.setUpdatedAt(LocalDateTime.now());
+        return memberRepo.save(member);
+    }
+}
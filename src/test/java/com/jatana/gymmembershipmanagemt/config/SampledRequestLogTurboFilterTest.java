@@ -0,0 +1,123 @@
+package com.jatana.gymmembershipmanagemt.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SampledRequestLogTurboFilterTest {
+
+    private static final String APP_PREFIX = "com.jatana.gymmembershipmanagemt";
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final Logger appLogger = loggerContext.getLogger(APP_PREFIX + ".service.MemberService");
+    private final Logger otherAppLogger = loggerContext.getLogger(APP_PREFIX + ".controller.MemberController");
+    private final Logger libraryLogger = loggerContext.getLogger("org.hibernate.SQL");
+
+    @AfterEach
+    void clearMdc() {
+        MDC.clear();
+    }
+
+    @Test
+    void rateOneKeepsEveryRequest() {
+        SampledRequestLogTurboFilter filter = filter(1);
+
+        for (int i = 0; i < 1_000; i++) {
+            MDC.put(RequestIdFilter.REQUEST_ID_KEY, UUID.randomUUID().toString());
+            assertThat(decide(filter, appLogger, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+        }
+    }
+
+    @Test
+    void rateZeroDropsInfoOfEveryRequest() {
+        SampledRequestLogTurboFilter filter = filter(0);
+
+        for (int i = 0; i < 1_000; i++) {
+            MDC.put(RequestIdFilter.REQUEST_ID_KEY, UUID.randomUUID().toString());
+            assertThat(decide(filter, appLogger, Level.INFO)).isEqualTo(FilterReply.DENY);
+        }
+    }
+
+    @Test
+    void ratesOutsideZeroToOneAreClamped() {
+        MDC.put(RequestIdFilter.REQUEST_ID_KEY, "request-1");
+
+        assertThat(decide(filter(-0.5), appLogger, Level.INFO)).isEqualTo(FilterReply.DENY);
+        assertThat(decide(filter(1.5), appLogger, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void otherLevelsAreNeverSampledOut() {
+        SampledRequestLogTurboFilter filter = filter(0);
+        MDC.put(RequestIdFilter.REQUEST_ID_KEY, "request-1");
+
+        assertThat(decide(filter, appLogger, Level.WARN)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(filter, appLogger, Level.ERROR)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(filter, appLogger, Level.DEBUG)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void eventsOutsideRequestsAreNeverSampledOut() {
+        SampledRequestLogTurboFilter filter = filter(0);
+
+        assertThat(decide(filter, appLogger, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void loggersOutsideThePrefixAreNeverSampledOut() {
+        SampledRequestLogTurboFilter filter = filter(0);
+        MDC.put(RequestIdFilter.REQUEST_ID_KEY, "request-1");
+
+        assertThat(decide(filter, libraryLogger, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void requestKeepsAllOrNoneOfItsInfoLines() {
+        SampledRequestLogTurboFilter filter = filter(0.5);
+        int kept = 0;
+
+        for (int i = 0; i < 200; i++) {
+            MDC.put(RequestIdFilter.REQUEST_ID_KEY, UUID.randomUUID().toString());
+            FilterReply first = decide(filter, appLogger, Level.INFO);
+            assertThat(decide(filter, appLogger, Level.INFO)).isEqualTo(first);
+            assertThat(decide(filter, otherAppLogger, Level.INFO)).isEqualTo(first);
+            kept += first == FilterReply.NEUTRAL ? 1 : 0;
+        }
+        // Both decisions occur, so the check above is not passing on a constant reply
+        assertThat(kept).isBetween(1, 199);
+    }
+
+    @Test
+    void keepsRoughlyTheConfiguredFractionOfRequests() {
+        SampledRequestLogTurboFilter filter = filter(0.1);
+        int requests = 50_000;
+        int kept = 0;
+
+        for (int i = 0; i < requests; i++) {
+            MDC.put(RequestIdFilter.REQUEST_ID_KEY, UUID.randomUUID().toString());
+            kept += decide(filter, appLogger, Level.INFO) == FilterReply.NEUTRAL ? 1 : 0;
+        }
+
+        assertThat(kept / (double) requests).isCloseTo(0.1, within(0.01));
+    }
+
+    private static SampledRequestLogTurboFilter filter(double rate) {
+        SampledRequestLogTurboFilter filter = new SampledRequestLogTurboFilter();
+        filter.setLoggerPrefix(APP_PREFIX);
+        filter.setRate(rate);
+        return filter;
+    }
+
+    private static FilterReply decide(SampledRequestLogTurboFilter filter, Logger logger, Level level) {
+        return filter.decide(null, logger, level, "message {}", new Object[]{"param"}, null);
+    }
+}
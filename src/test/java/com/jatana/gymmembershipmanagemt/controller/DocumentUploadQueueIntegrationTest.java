@@ -0,0 +1,103 @@
+package com.jatana.gymmembershipmanagemt.controller;
+
+import com.jatana.gymmembershipmanagemt.IntegrationTest;
+import com.jatana.gymmembershipmanagemt.model.Member;
+import com.jatana.gymmembershipmanagemt.model.enums.MemberStatus;
+import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
+import com.jatana.gymmembershipmanagemt.service.storage.LocalDocumentStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "document.upload.workers=1",
+        "document.upload.queue-capacity=1"
+})
+class DocumentUploadQueueIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MemberRepo memberRepo;
+
+    @MockitoSpyBean
+    private LocalDocumentStorage localDocumentStorage;
+
+    private final CountDownLatch releaseStorage = new CountDownLatch(1);
+
+    @AfterEach
+    void releaseWorker() {
+        releaseStorage.countDown();
+    }
+
+    @Test
+    void uploadIsRejectedWith503WhenTheQueueIsFull() throws Exception {
+        String memberId = saveMember();
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            workerBusy.countDown();
+            releaseStorage.await();
+            return invocation.callRealMethod();
+        }).when(localDocumentStorage).store(anyString(), any(Path.class));
+
+        upload(memberId).andExpect(status().isAccepted());
+        assertThat(workerBusy.await(10, TimeUnit.SECONDS)).isTrue();
+        upload(memberId).andExpect(status().isAccepted());
+
+        upload(memberId)
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"))
+                .andExpect(jsonPath("$.status").value(503))
+                .andExpect(jsonPath("$.message").value("Upload queue is full, retry later"));
+    }
+
+    private ResultActions upload(String memberId) throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "proof.txt", "text/plain",
+                ("proof " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+        return mockMvc.perform(multipart("/api/member/upload/document/async")
+                .file(file)
+                .param("memberId", memberId)
+                .param("docType", "OTHER"));
+    }
+
+    private String saveMember() {
+        String memberId = "upq-" + UUID.randomUUID();
+        Member member = new Member();
+        member.setMemberId(memberId);
+        member.setFullName("Test Member");
+        member.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        member.setGender("OTHER");
+        member.setMemberStatus(MemberStatus.ACTIVE.toString());
+        member.setCreatedAt(LocalDateTime.now());
+        member.setUpdatedAt(LocalDateTime.now());
+        memberRepo.save(member);
+        return memberId;
+    }
+}
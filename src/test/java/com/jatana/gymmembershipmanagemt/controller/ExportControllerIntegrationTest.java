@@ -0,0 +1,124 @@
+package com.jatana.gymmembershipmanagemt.controller;
+
+import com.jatana.gymmembershipmanagemt.IntegrationTest;
+import com.jatana.gymmembershipmanagemt.model.Member;
+import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
+import com.jatana.gymmembershipmanagemt.util.Csv;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc
+class ExportControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MemberRepo memberRepo;
+
+    @Test
+    void invalidFormatIsAnsweredWithErrorResponse() throws Exception {
+        mockMvc.perform(get("/api/export/members").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Invalid export format: xml"))
+                .andExpect(jsonPath("$.path").value("/api/export/members"));
+    }
+
+    @Test
+    void csvExportParsesBackWithMultiLineFields() throws Exception {
+        String memberId = "exp-" + UUID.randomUUID();
+        Member member = new Member();
+        member.setMemberId(memberId);
+        member.setFirstName("Anne, \"Annie\"");
+        member.setLastName("Export");
+        member.setGender("FEMALE");
+        member.setAddress("1 Long Road\r\nFlat 2\nLeeds");
+        member.setMemberStatus("ACTIVE");
+        member.setCreatedAt(LocalDateTime.now());
+        memberRepo.save(member);
+
+        MvcResult started = mockMvc.perform(get("/api/export/members").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String csv = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString();
+
+        Csv.RecordReader reader = new Csv.RecordReader(new StringReader(csv), Integer.MAX_VALUE);
+        List<String> header = reader.next();
+        List<String> exported = null;
+        for (List<String> record = reader.next(); record != null; record = reader.next()) {
+            assertThat(record).hasSameSizeAs(header);
+            if (record.getFirst().equals(memberId)) {
+                exported = record;
+            }
+        }
+        assertThat(exported).isNotNull();
+        assertThat(exported.get(header.indexOf("firstName"))).isEqualTo("Anne, \"Annie\"");
+        assertThat(exported.get(header.indexOf("address"))).isEqualTo("1 Long Road\r\nFlat 2\nLeeds");
+    }
+
+    @Test
+    void csvExportNeutralisesSpreadsheetFormulas() throws Exception {
+        String memberId = "exp-" + UUID.randomUUID();
+        Member member = new Member();
+        member.setMemberId(memberId);
+        member.setFirstName("=HYPERLINK(\"http://evil.example\",\"click\")");
+        member.setLastName("@SUM(1+1)");
+        member.setPhoneNumber("+44 113 496 0000");
+        member.setAddress("-1 Minus Street");
+        member.setEmail("plain@example.com");
+        member.setMemberStatus("ACTIVE");
+        member.setCreatedAt(LocalDateTime.now());
+        memberRepo.save(member);
+
+        List<String> header = new ArrayList<>();
+        List<String> exported = exportedMember(memberId, header);
+
+        assertThat(exported.get(header.indexOf("firstName"))).isEqualTo("'=HYPERLINK(\"http://evil.example\",\"click\")");
+        assertThat(exported.get(header.indexOf("lastName"))).isEqualTo("'@SUM(1+1)");
+        assertThat(exported.get(header.indexOf("phoneNumber"))).isEqualTo("'+44 113 496 0000");
+        assertThat(exported.get(header.indexOf("address"))).isEqualTo("'-1 Minus Street");
+        assertThat(exported.get(header.indexOf("email"))).isEqualTo("plain@example.com");
+    }
+
+    private List<String> exportedMember(String memberId, List<String> header) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/export/members").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String csv = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        Csv.RecordReader reader = new Csv.RecordReader(new StringReader(csv), Integer.MAX_VALUE);
+        header.addAll(reader.next());
+        for (List<String> record = reader.next(); record != null; record = reader.next()) {
+            if (record.getFirst().equals(memberId)) {
+                return record;
+            }
+        }
+        throw new AssertionError("Member not exported: " + memberId);
+    }
+}
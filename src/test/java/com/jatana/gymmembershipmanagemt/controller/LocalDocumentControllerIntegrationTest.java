@@ -0,0 +1,87 @@
+package com.jatana.gymmembershipmanagemt.controller;
+
+import com.jatana.gymmembershipmanagemt.IntegrationTest;
+import com.jatana.gymmembershipmanagemt.service.storage.LocalDocumentStorage;
+import com.jatana.gymmembershipmanagemt.util.ContentHash;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc
+class LocalDocumentControllerIntegrationTest {
+
+    private static final String URL = "/api/documents/files/{storageKey}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LocalDocumentStorage localDocumentStorage;
+
+    private String storageKey;
+    private byte[] content;
+
+    @BeforeEach
+    void storeDocument(@TempDir Path tempDir) throws Exception {
+        content = ("document " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        storageKey = ContentHash.sha256(content);
+        Path file = Files.write(tempDir.resolve("upload"), content);
+        localDocumentStorage.store(storageKey, file);
+    }
+
+    @Test
+    void servesContentWithCachingHeaders() throws Exception {
+        mockMvc.perform(get(URL, storageKey))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + storageKey + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, content.length))
+                .andExpect(content().bytes(content));
+    }
+
+    @Test
+    void servesByteRanges() throws Exception {
+        mockMvc.perform(get(URL, storageKey).header(HttpHeaders.RANGE, "bytes=0-7"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-7/" + content.length))
+                .andExpect(content().string("document"));
+    }
+
+    @Test
+    void answersHead() throws Exception {
+        mockMvc.perform(head(URL, storageKey))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, content.length))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"));
+    }
+
+    @Test
+    void answersMatchingEtagWithNotModified() throws Exception {
+        mockMvc.perform(get(URL, storageKey).header(HttpHeaders.IF_NONE_MATCH, "\"" + storageKey + "\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void returnsNotFoundForUnknownAndInvalidKeys() throws Exception {
+        mockMvc.perform(get(URL, ContentHash.sha256(new byte[]{1, 2, 3})))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get(URL, "..%2Fsecret"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,76 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.jatana.gymmembershipmanagemt.model.dto.response.AnalyticsSummaryResponse;
+import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
+import com.jatana.gymmembershipmanagemt.repo.MembershipRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsServiceTest {
+
+    @Mock
+    private MemberRepo memberRepo;
+
+    @Mock
+    private MembershipRepo membershipRepo;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private AnalyticsService analyticsService;
+
+    @BeforeEach
+    void createReadOnlyTransaction() {
+        analyticsService.createReadOnlyTransaction();
+    }
+
+    @Test
+    void requestsBeforeTheFirstBuildShareOneBuild() throws Exception {
+        when(memberRepo.count()).thenAnswer(invocation -> {
+            // Long enough for every request to find no snapshot and queue up behind this build
+            Thread.sleep(200);
+            return 0L;
+        });
+        when(memberRepo.streamAnalyticsRows()).thenAnswer(invocation -> Stream.empty());
+        when(membershipRepo.streamAnalyticsRows()).thenAnswer(invocation -> Stream.empty());
+
+        int requests = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<AnalyticsSummaryResponse>> summaries = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(requests)) {
+            for (int i = 0; i < requests; i++) {
+                summaries.add(executor.submit(() -> {
+                    start.await();
+                    return analyticsService.getSummary();
+                }));
+            }
+            start.countDown();
+            for (Future<AnalyticsSummaryResponse> summary : summaries) {
+                assertThat(summary.get()).isNotNull();
+            }
+        }
+
+        verify(memberRepo, times(1)).count();
+        verify(memberRepo, times(1)).streamAnalyticsRows();
+    }
+}
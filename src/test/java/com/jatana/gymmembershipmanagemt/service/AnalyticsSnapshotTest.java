@@ -0,0 +1,92 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.jatana.gymmembershipmanagemt.model.dto.projection.MemberAnalyticsProjection;
+import com.jatana.gymmembershipmanagemt.model.enums.MemberStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalyticsSnapshotTest {
+
+    private static final int[] MIN_AGES = {0, 18, 25, 35, 45, 55, 65};
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2023-02-28", "2023-03-01", "2024-02-28", "2024-02-29", "2024-03-01", "2025-12-31"})
+    void ageGroupsMatchPeriodAgeForEveryBirthDate(String todayText) {
+        LocalDate today = LocalDate.parse(todayText);
+        AnalyticsSnapshot.Builder builder = new AnalyticsSnapshot.Builder(0, 0);
+        long[] expected = new long[MIN_AGES.length + 1];
+        // Every birth date over 70 years, so each cut-off is checked on the day before, of and after
+        // the birthday, including 29 February births in common years
+        for (LocalDate birth = today.minusYears(70); !birth.isAfter(today); birth = birth.plusDays(1)) {
+            builder.addMember(member(MemberStatus.ACTIVE, birth, null));
+            expected[groupOf(Period.between(birth, today).getYears())]++;
+        }
+
+        assertThat(builder.build().countActiveMembersByAge(today, MIN_AGES)).containsExactly(expected);
+    }
+
+    @Test
+    void ageGroupsCountMissingBirthDatesInLastSlotAndSkipInactiveMembers() {
+        LocalDate today = LocalDate.of(2024, 6, 15);
+        AnalyticsSnapshot.Builder builder = new AnalyticsSnapshot.Builder(0, 0);
+        builder.addMember(member(MemberStatus.ACTIVE, null, null));
+        builder.addMember(member(MemberStatus.ACTIVE, null, null));
+        builder.addMember(member(MemberStatus.ACTIVE, LocalDate.of(2006, 6, 15), null));
+        builder.addMember(member(MemberStatus.INACTIVE, LocalDate.of(2006, 6, 15), null));
+        builder.addMember(member(MemberStatus.INACTIVE, null, null));
+
+        long[] counts = builder.build().countActiveMembersByAge(today, MIN_AGES);
+
+        assertThat(counts).containsExactly(0, 1, 0, 0, 0, 0, 0, 2);
+    }
+
+    @Test
+    void churnWindowIncludesStartAndExcludesToday() {
+        LocalDate windowStart = LocalDate.of(2024, 2, 1);
+        LocalDate today = LocalDate.of(2024, 3, 1);
+        AnalyticsSnapshot.Builder builder = new AnalyticsSnapshot.Builder(0, 0);
+        builder.addMember(member(MemberStatus.INACTIVE, null, windowStart.minusDays(1)));
+        builder.addMember(member(MemberStatus.INACTIVE, null, windowStart));
+        builder.addMember(member(MemberStatus.INACTIVE, null, today.minusDays(1)));
+        builder.addMember(member(MemberStatus.ACTIVE, null, today));
+        builder.addMember(member(MemberStatus.ACTIVE, null, today.plusYears(1)));
+        builder.addMember(member(MemberStatus.ACTIVE, null, null));
+
+        long[] churn = builder.build().countChurn(windowStart, today);
+
+        assertThat(churn).containsExactly(2, 2);
+    }
+
+    @Test
+    void builderGrowsPastItsInitialCapacity() {
+        LocalDate today = LocalDate.of(2024, 3, 1);
+        AnalyticsSnapshot.Builder builder = new AnalyticsSnapshot.Builder(0, 0);
+        for (int i = 0; i < 100; i++) {
+            builder.addMember(member(MemberStatus.ACTIVE, null, today.minusDays(i % 2)));
+        }
+
+        AnalyticsSnapshot snapshot = builder.build();
+
+        assertThat(snapshot.memberCount).isEqualTo(100);
+        assertThat(snapshot.countActiveMembers()).isEqualTo(100);
+        assertThat(snapshot.countChurn(today.minusDays(30), today)).containsExactly(50, 50);
+    }
+
+    private static int groupOf(int age) {
+        int group = 0;
+        while (group + 1 < MIN_AGES.length && age >= MIN_AGES[group + 1]) {
+            group++;
+        }
+        return group;
+    }
+
+    private static MemberAnalyticsProjection member(MemberStatus status, LocalDate dateOfBirth, LocalDate currentEndDate) {
+        return new MemberAnalyticsProjection("OTHER", status.toString(), dateOfBirth, currentEndDate);
+    }
+}
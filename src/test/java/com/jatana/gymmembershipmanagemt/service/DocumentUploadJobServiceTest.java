@@ -0,0 +1,195 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.jatana.gymmembershipmanagemt.model.dto.request.MemberDocumentUploadRequest;
+import com.jatana.gymmembershipmanagemt.model.dto.response.DocumentUploadJobResponse;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberDocumentResponse;
+import com.jatana.gymmembershipmanagemt.model.enums.DocType;
+import com.jatana.gymmembershipmanagemt.model.enums.DocumentUploadJobStatus;
+import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentUploadJobServiceTest {
+
+    private static final Duration RETRY_BACKOFF = Duration.ofMillis(100);
+
+    @Mock
+    private MemberRepo memberRepo;
+
+    @Mock
+    private MemberDocumentService memberDocumentService;
+
+    @InjectMocks
+    private DocumentUploadJobService documentUploadJobService;
+
+    private final CountDownLatch releaseWorker = new CountDownLatch(1);
+
+    @BeforeEach
+    void startWorkers() {
+        ReflectionTestUtils.setField(documentUploadJobService, "workers", 1);
+        ReflectionTestUtils.setField(documentUploadJobService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(documentUploadJobService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(documentUploadJobService, "retryBackoff", RETRY_BACKOFF);
+        ReflectionTestUtils.setField(documentUploadJobService, "jobRetention", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(documentUploadJobService, "shutdownTimeout", Duration.ofSeconds(5));
+        documentUploadJobService.startWorkers();
+        when(memberRepo.existsById(anyString())).thenReturn(true);
+    }
+
+    @AfterEach
+    void stopWorkers() throws Exception {
+        releaseWorker.countDown();
+        documentUploadJobService.stopWorkers();
+    }
+
+    @Test
+    void uploadIsRejectedBeforeSpoolingWhenTheQueueIsFull() throws Exception {
+        SpooledUpload running = spooled("running");
+        SpooledUpload queued = spooled("queued");
+        when(memberDocumentService.spool(any())).thenReturn(running, queued);
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        when(memberDocumentService.storeSpooledDocument(anyString(), any(), eq(running))).thenAnswer(invocation -> {
+            workerBusy.countDown();
+            releaseWorker.await();
+            return document();
+        });
+        documentUploadJobService.submit("MEM-1", request());
+        assertThat(workerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+        documentUploadJobService.submit("MEM-1", request());
+
+        assertThatThrownBy(() -> documentUploadJobService.submit("MEM-1", request()))
+                .isInstanceOf(RejectedExecutionException.class)
+                .hasMessage("Document upload queue is full");
+        verify(memberDocumentService, times(2)).spool(any());
+    }
+
+    @Test
+    void failedAttemptsAreRetriedWithExponentialBackoff() throws Exception {
+        SpooledUpload upload = spooled("flaky");
+        when(memberDocumentService.spool(any())).thenReturn(upload);
+        when(memberDocumentService.storeSpooledDocument(anyString(), any(), eq(upload)))
+                .thenThrow(new RuntimeException("storage timeout"))
+                .thenThrow(new RuntimeException("storage timeout"))
+                .thenReturn(document());
+
+        long started = System.nanoTime();
+        DocumentUploadJobResponse job = documentUploadJobService.submit("MEM-1", request());
+        DocumentUploadJobResponse finished = awaitFinished(job.jobId());
+
+        assertThat(finished.status()).isEqualTo(DocumentUploadJobStatus.COMPLETED);
+        assertThat(finished.attempts()).isEqualTo(3);
+        assertThat(finished.document().documentId()).isEqualTo("DOC-1");
+        // Backoff of one and then two times the configured delay
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isGreaterThanOrEqualTo(RETRY_BACKOFF.multipliedBy(3));
+        verify(memberDocumentService, timeout(5_000)).deleteSpooledFile(upload.file());
+    }
+
+    @Test
+    void jobFailsOnceAttemptsAreExhausted() throws Exception {
+        SpooledUpload upload = spooled("broken");
+        when(memberDocumentService.spool(any())).thenReturn(upload);
+        when(memberDocumentService.storeSpooledDocument(anyString(), any(), eq(upload)))
+                .thenThrow(new RuntimeException("storage timeout"));
+
+        DocumentUploadJobResponse finished = awaitFinished(documentUploadJobService.submit("MEM-1", request()).jobId());
+
+        assertThat(finished.status()).isEqualTo(DocumentUploadJobStatus.FAILED);
+        assertThat(finished.attempts()).isEqualTo(3);
+        assertThat(finished.error()).isEqualTo("storage timeout");
+        verify(memberDocumentService, times(3)).storeSpooledDocument(anyString(), any(), eq(upload));
+        verify(memberDocumentService, timeout(5_000)).deleteSpooledFile(upload.file());
+    }
+
+    @Test
+    void permanentFailureIsNotRetried() throws Exception {
+        SpooledUpload upload = spooled("invalid");
+        when(memberDocumentService.spool(any())).thenReturn(upload);
+        when(memberDocumentService.storeSpooledDocument(anyString(), any(), eq(upload)))
+                .thenThrow(new IllegalArgumentException("Member not found with ID: MEM-1"));
+
+        DocumentUploadJobResponse finished = awaitFinished(documentUploadJobService.submit("MEM-1", request()).jobId());
+
+        assertThat(finished.status()).isEqualTo(DocumentUploadJobStatus.FAILED);
+        assertThat(finished.attempts()).isEqualTo(1);
+        verify(memberDocumentService).storeSpooledDocument(anyString(), any(), eq(upload));
+    }
+
+    @Test
+    void jobsAbandonedAtShutdownDeleteTheirFiles() throws Exception {
+        SpooledUpload running = spooled("running");
+        SpooledUpload queued = spooled("queued");
+        when(memberDocumentService.spool(any())).thenReturn(running, queued);
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        when(memberDocumentService.storeSpooledDocument(anyString(), any(), eq(running))).thenAnswer(invocation -> {
+            workerBusy.countDown();
+            // Outlasts the shutdown grace period until interrupted
+            Thread.sleep(TimeUnit.MINUTES.toMillis(5));
+            return document();
+        });
+        ReflectionTestUtils.setField(documentUploadJobService, "shutdownTimeout", Duration.ofMillis(100));
+
+        documentUploadJobService.submit("MEM-1", request());
+        assertThat(workerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+        DocumentUploadJobResponse queuedJob = documentUploadJobService.submit("MEM-1", request());
+
+        documentUploadJobService.stopWorkers();
+
+        verify(memberDocumentService).deleteSpooledFile(queued.file());
+        verify(memberDocumentService, never()).storeSpooledDocument(anyString(), any(), eq(queued));
+        assertThat(documentUploadJobService.getJob(queuedJob.jobId()).orElseThrow().status())
+                .isEqualTo(DocumentUploadJobStatus.FAILED);
+        // The interrupted worker deletes the file of the job it was running
+        verify(memberDocumentService, timeout(5_000)).deleteSpooledFile(running.file());
+    }
+
+    private DocumentUploadJobResponse awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            DocumentUploadJobResponse job = documentUploadJobService.getJob(jobId).orElseThrow();
+            if (job.status() == DocumentUploadJobStatus.COMPLETED || job.status() == DocumentUploadJobStatus.FAILED
+                    || System.nanoTime() > deadline) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static SpooledUpload spooled(String name) {
+        return new SpooledUpload(Path.of("spool", name + ".upload"), name, 4);
+    }
+
+    private static MemberDocumentUploadRequest request() {
+        return new MemberDocumentUploadRequest(
+                new MockMultipartFile("file", "id.pdf", "application/pdf", new byte[]{1, 2, 3, 4}),
+                DocType.IDENTITY_PROOF);
+    }
+
+    private static MemberDocumentResponse document() {
+        return new MemberDocumentResponse("DOC-1", DocType.IDENTITY_PROOF, "/documents/DOC-1");
+    }
+}
@@ -0,0 +1,249 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.jatana.gymmembershipmanagemt.IntegrationTest;
+import com.jatana.gymmembershipmanagemt.model.Member;
+import com.jatana.gymmembershipmanagemt.model.enums.DocType;
+import com.jatana.gymmembershipmanagemt.model.enums.MemberStatus;
+import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
+import com.jatana.gymmembershipmanagemt.repo.OrphanedDocumentBlobRepo;
+import com.jatana.gymmembershipmanagemt.service.storage.LocalDocumentStorage;
+import com.jatana.gymmembershipmanagemt.util.ContentHash;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@IntegrationTest
+class MemberDocumentServiceIntegrationTest {
+
+    @Autowired
+    private MemberDocumentService memberDocumentService;
+
+    @Autowired
+    private DocumentBlobCleanupService documentBlobCleanupService;
+
+    @Autowired
+    private LocalDocumentStorage localDocumentStorage;
+
+    @Autowired
+    private OrphanedDocumentBlobRepo orphanedDocumentBlobRepo;
+
+    @Autowired
+    private MemberRepo memberRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void replacedPhotoAndThumbnailAreDeletedAfterTheGracePeriod() throws IOException {
+        String memberId = saveMember();
+        String oldPhoto = upload(memberId, DocType.PHOTO, png());
+        String newPhoto = upload(memberId, DocType.PHOTO, png());
+
+        documentBlobCleanupService.deleteOrphanedBlobs(LocalDateTime.now().minusHours(1));
+        assertThat(isStored(oldPhoto)).isTrue();
+
+        cleanUpEverythingOrphaned();
+        assertThat(isStored(oldPhoto)).isFalse();
+        assertThat(isStored(MemberDocumentService.thumbnailKey(oldPhoto))).isFalse();
+        assertThat(isStored(newPhoto)).isTrue();
+        assertThat(isStored(MemberDocumentService.thumbnailKey(newPhoto))).isTrue();
+        assertThat(memberRepo.findById(memberId).orElseThrow().getThumbnailUrl())
+                .endsWith(MemberDocumentService.thumbnailKey(newPhoto));
+    }
+
+    @Test
+    void reusedPhotoReusesItsThumbnailInsteadOfCreatingOne() throws IOException {
+        String firstMemberId = saveMember();
+        byte[] photo = png();
+        String contentHash = upload(firstMemberId, DocType.PHOTO, photo);
+        String thumbnailUrl = memberRepo.findById(firstMemberId).orElseThrow().getThumbnailUrl();
+        assertThat(thumbnailUrl).endsWith(MemberDocumentService.thumbnailKey(contentHash));
+
+        // Had the second upload created the thumbnail again, the blob would be back
+        localDocumentStorage.delete(MemberDocumentService.thumbnailKey(contentHash));
+        String secondMemberId = saveMember();
+        upload(secondMemberId, DocType.PHOTO, photo);
+
+        assertThat(memberRepo.findById(secondMemberId).orElseThrow().getThumbnailUrl()).isEqualTo(thumbnailUrl);
+        assertThat(isStored(MemberDocumentService.thumbnailKey(contentHash))).isFalse();
+    }
+
+    @Test
+    void photoReusingContentStoredAsAnotherTypeGetsAThumbnail() throws IOException {
+        byte[] photo = png();
+        String contentHash = upload(saveMember(), DocType.OTHER, photo);
+        assertThat(isStored(MemberDocumentService.thumbnailKey(contentHash))).isFalse();
+
+        String memberId = saveMember();
+        upload(memberId, DocType.PHOTO, photo);
+
+        assertThat(isStored(MemberDocumentService.thumbnailKey(contentHash))).isTrue();
+        assertThat(memberRepo.findById(memberId).orElseThrow().getThumbnailUrl())
+                .endsWith(MemberDocumentService.thumbnailKey(contentHash));
+    }
+
+    @Test
+    void replacedContentStillReferencedByAnotherDocumentIsKept() throws IOException {
+        String firstMemberId = saveMember();
+        String secondMemberId = saveMember();
+        byte[] shared = randomBytes();
+        String sharedHash = upload(firstMemberId, DocType.IDENTITY_PROOF, shared);
+        upload(secondMemberId, DocType.IDENTITY_PROOF, shared);
+
+        upload(firstMemberId, DocType.IDENTITY_PROOF, randomBytes());
+        cleanUpEverythingOrphaned();
+
+        assertThat(orphanedDocumentBlobRepo.existsById(sharedHash)).isFalse();
+        assertThat(isStored(sharedHash)).isTrue();
+    }
+
+    @Test
+    void failedSaveReleasesContentNothingReferences() throws IOException {
+        byte[] content = png();
+        String contentHash = ContentHash.sha256(content);
+
+        // The photo row cannot be linked to a member that does not exist, so phase 2 fails
+        assertThatThrownBy(() -> upload("missing-" + UUID.randomUUID(), DocType.PHOTO, content))
+                .isInstanceOf(RuntimeException.class);
+        assertThat(isStored(contentHash)).isTrue();
+        assertThat(orphanedDocumentBlobRepo.existsById(contentHash)).isTrue();
+
+        cleanUpEverythingOrphaned();
+        assertThat(isStored(contentHash)).isFalse();
+        assertThat(isStored(MemberDocumentService.thumbnailKey(contentHash))).isFalse();
+    }
+
+    @Test
+    void failedSaveKeepsContentReferencedByAnotherDocument() throws IOException {
+        byte[] content = png();
+        String contentHash = upload(saveMember(), DocType.OTHER, content);
+
+        assertThatThrownBy(() -> upload("missing-" + UUID.randomUUID(), DocType.PHOTO, content))
+                .isInstanceOf(RuntimeException.class);
+        cleanUpEverythingOrphaned();
+
+        assertThat(orphanedDocumentBlobRepo.existsById(contentHash)).isFalse();
+        assertThat(isStored(contentHash)).isTrue();
+    }
+
+    @Test
+    void uploadOfOrphanedContentClaimsItBack() throws IOException {
+        String firstMemberId = saveMember();
+        byte[] content = randomBytes();
+        String contentHash = upload(firstMemberId, DocType.ADDRESS_PROOF, content);
+        upload(firstMemberId, DocType.ADDRESS_PROOF, randomBytes());
+        assertThat(orphanedDocumentBlobRepo.existsById(contentHash)).isTrue();
+
+        upload(saveMember(), DocType.ADDRESS_PROOF, content);
+        cleanUpEverythingOrphaned();
+
+        assertThat(orphanedDocumentBlobRepo.existsById(contentHash)).isFalse();
+        assertThat(isStored(contentHash)).isTrue();
+    }
+
+    @Test
+    void cleanupRecountsReferencesBeforeDeleting() throws IOException {
+        String contentHash = upload(saveMember(), DocType.OTHER, randomBytes());
+
+        // Marked by a release whose transaction counted before a concurrent save committed
+        transactionTemplate.executeWithoutResult(status ->
+                orphanedDocumentBlobRepo.markOrphaned(contentHash, LocalDateTime.now().minusDays(1)));
+        cleanUpEverythingOrphaned();
+
+        assertThat(orphanedDocumentBlobRepo.existsById(contentHash)).isFalse();
+        assertThat(isStored(contentHash)).isTrue();
+    }
+
+    @Test
+    void startupSweepDeletesSpoolFilesLeftByAnEarlierRun() throws IOException {
+        Path spoolDirectory = (Path) ReflectionTestUtils.getField(memberDocumentService, "spoolDirectory");
+        Files.createDirectories(spoolDirectory);
+        Path stale = Files.createTempFile(spoolDirectory, "member-doc-", ".upload");
+        Files.setLastModifiedTime(stale, FileTime.from(Instant.now().minus(1, ChronoUnit.DAYS)));
+        Path inFlight = Files.createTempFile(spoolDirectory, "member-doc-", ".upload");
+        Path unrelated = Files.createTempFile(spoolDirectory, "other-", ".tmp");
+        Files.setLastModifiedTime(unrelated, FileTime.from(Instant.now().minus(1, ChronoUnit.DAYS)));
+
+        try {
+            memberDocumentService.sweepSpoolDirectory();
+
+            assertThat(stale).doesNotExist();
+            assertThat(inFlight).exists();
+            assertThat(unrelated).exists();
+        } finally {
+            Files.deleteIfExists(stale);
+            Files.deleteIfExists(inFlight);
+            Files.deleteIfExists(unrelated);
+        }
+    }
+
+    private String upload(String memberId, DocType docType, byte[] content) throws IOException {
+        Path file = Files.write(tempDir.resolve(UUID.randomUUID().toString()), content);
+        String contentHash = ContentHash.sha256(content);
+        memberDocumentService.storeSpooledDocument(memberId, docType,
+                new SpooledUpload(file, contentHash, content.length));
+        return contentHash;
+    }
+
+    private void cleanUpEverythingOrphaned() {
+        documentBlobCleanupService.deleteOrphanedBlobs(LocalDateTime.now().plusSeconds(1));
+    }
+
+    private boolean isStored(String storageKey) {
+        return localDocumentStorage.resolve(storageKey).isPresent();
+    }
+
+    private String saveMember() {
+        String memberId = "doc-" + UUID.randomUUID();
+        Member member = new Member();
+        member.setMemberId(memberId);
+        member.setFullName("Test Member");
+        member.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        member.setGender("OTHER");
+        member.setMemberStatus(MemberStatus.ACTIVE.toString());
+        member.setCreatedAt(LocalDateTime.now());
+        member.setUpdatedAt(LocalDateTime.now());
+        memberRepo.save(member);
+        return memberId;
+    }
+
+    private static byte[] randomBytes() {
+        byte[] content = new byte[256];
+        ThreadLocalRandom.current().nextBytes(content);
+        return content;
+    }
+
+    private static byte[] png() throws IOException {
+        BufferedImage image = new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < image.getWidth(); x++) {
+            for (int y = 0; y < image.getHeight(); y++) {
+                image.setRGB(x, y, ThreadLocalRandom.current().nextInt());
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,158 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.jatana.gymmembershipmanagemt.IntegrationTest;
+import com.jatana.gymmembershipmanagemt.model.Member;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberImportError;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberImportResponse;
+import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@IntegrationTest
+@TestPropertySource(properties = "member.import.chunk-size=3")
+class MemberImportServiceIntegrationTest {
+
+    private static final String HEADER = "memberId,firstName,lastName,gender,dateOfBirth,email,address\n";
+
+    @Autowired
+    private MemberImportService memberImportService;
+
+    @Autowired
+    private MemberRepo memberRepo;
+
+    @Test
+    void importsRowsAcrossSeveralChunks() {
+        String prefix = uniquePrefix();
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 8; i++) {
+            csv.append(prefix).append(i).append(",First,Last").append(i).append(",female,1990-01-0").append(i + 1)
+                    .append(',').append(prefix).append(i).append("@example.com,\n");
+        }
+
+        MemberImportResponse response = importCsv(csv.toString());
+
+        assertThat(response.totalRows()).isEqualTo(8);
+        assertThat(response.importedCount()).isEqualTo(8);
+        assertThat(response.errors()).isEmpty();
+        Member member = memberRepo.findById(prefix + 7).orElseThrow();
+        assertThat(member.getFullName()).isEqualTo("First Last7");
+        assertThat(member.getMemberStatus()).isEqualTo("ACTIVE");
+    }
+
+    @Test
+    void rejectsExistingAndDuplicateIdsWithTheirLineNumbers() {
+        String prefix = uniquePrefix();
+        importCsv(HEADER + prefix + "existing,Old,Member,male,,,\n");
+
+        MemberImportResponse response = importCsv(HEADER
+                + prefix + "a,A,One,male,,,\n"
+                + prefix + "existing,B,Two,male,,,\n"
+                + prefix + "a,C,Three,male,,,\n"
+                + prefix + "b,D,Four,male,,,\n"
+                // Next chunk: the first "a" is already committed by now
+                + prefix + "a,E,Five,male,,,\n");
+
+        assertThat(response.totalRows()).isEqualTo(5);
+        assertThat(response.importedCount()).isEqualTo(2);
+        assertThat(response.errors())
+                .extracting(MemberImportError::lineNumber, MemberImportError::memberId, MemberImportError::message)
+                .containsExactly(
+                        tuple(3L, prefix + "existing", "Member already exists with ID: " + prefix + "existing"),
+                        tuple(4L, prefix + "a", "Duplicate member ID in import: " + prefix + "a"),
+                        tuple(6L, prefix + "a", "Member already exists with ID: " + prefix + "a"));
+        assertThat(memberRepo.findById(prefix + "a").orElseThrow().getFirstName()).isEqualTo("A");
+    }
+
+    @Test
+    void rejectsInvalidRowsAndKeepsImportingTheRest() {
+        String prefix = uniquePrefix();
+
+        MemberImportResponse response = importCsv(HEADER
+                + ",No,Id,male,,,\n"
+                + prefix + "gender,Bad,Gender,robot,,,\n"
+                + prefix + "future,Born,Later,male,2999-01-01,,\n"
+                + "\n"
+                + prefix + "date,Bad,Date,male,01/02/1990,,\n"
+                + prefix + "ok,Valid,Row,other,,,\n");
+
+        assertThat(response.totalRows()).isEqualTo(5);
+        assertThat(response.importedCount()).isEqualTo(1);
+        assertThat(response.errors())
+                .extracting(MemberImportError::lineNumber, MemberImportError::message)
+                .satisfiesExactly(
+                        error -> assertThat(error.toList()).containsExactly(2L, "memberId is required"),
+                        error -> assertThat(error.toList().get(0)).isEqualTo(3L),
+                        error -> assertThat(error.toList()).containsExactly(4L, "dateOfBirth is in the future"),
+                        error -> assertThat(error.toList().get(0)).isEqualTo(6L));
+        assertThat(response.errors().get(1).message()).startsWith("Malformed row: ");
+        assertThat(response.errors().get(3).message()).startsWith("Malformed row: ");
+        assertThat(memberRepo.existsById(prefix + "ok")).isTrue();
+    }
+
+    @Test
+    void importsQuotedFieldsWithLineBreaks() {
+        String prefix = uniquePrefix();
+
+        MemberImportResponse response = importCsv(HEADER
+                + prefix + "a,Multi,Line,male,,,\"12 High St\r\nLeeds, UK\"\r\n"
+                + ",No,Id,male,,,\r\n"
+                + prefix + "b,Quoted,\"O\"\"Brien\",female,,,\n");
+
+        assertThat(response.importedCount()).isEqualTo(2);
+        assertThat(response.errors()).extracting(MemberImportError::lineNumber).containsExactly(4L);
+        assertThat(memberRepo.findById(prefix + "a").orElseThrow().getAddress()).isEqualTo("12 High St\r\nLeeds, UK");
+        assertThat(memberRepo.findById(prefix + "b").orElseThrow().getLastName()).isEqualTo("O\"Brien");
+    }
+
+    @Test
+    void unterminatedQuoteEndsTheImportAfterEarlierRows() {
+        String prefix = uniquePrefix();
+
+        MemberImportResponse response = importCsv(HEADER
+                + prefix + "a,Good,Row,male,,,\n"
+                + prefix + "b,Open,Quote,male,,,\"never closed\n"
+                + prefix + "c,Swallowed,Row,male,,,\n");
+
+        assertThat(response.totalRows()).isEqualTo(2);
+        assertThat(response.importedCount()).isEqualTo(1);
+        assertThat(response.errors())
+                .extracting(MemberImportError::lineNumber, MemberImportError::message)
+                .containsExactly(tuple(3L, "Malformed row: Unterminated quoted field"));
+        assertThat(memberRepo.existsById(prefix + "c")).isFalse();
+    }
+
+    @Test
+    void importsNdjsonAndReportsMalformedLines() {
+        String prefix = uniquePrefix();
+
+        MemberImportResponse response = memberImportService.importNdjson(stream(
+                "{\"memberId\":\"" + prefix + "a\",\"firstName\":\"Json\",\"lastName\":\"One\",\"gender\":\"MALE\"}\n"
+                        + "\n"
+                        + "{not json}\n"
+                        + "{\"memberId\":\"" + prefix + "b\",\"firstName\":\"Json\",\"lastName\":\"Two\",\"gender\":\"FEMALE\"}\n"));
+
+        assertThat(response.totalRows()).isEqualTo(3);
+        assertThat(response.importedCount()).isEqualTo(2);
+        assertThat(response.errors()).extracting(MemberImportError::lineNumber).containsExactly(3L);
+    }
+
+    private MemberImportResponse importCsv(String csv) {
+        return memberImportService.importCsv(stream(csv));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String uniquePrefix() {
+        return "imp" + UUID.randomUUID().toString().substring(0, 8) + "-";
+    }
+}
@@ -0,0 +1,170 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.jatana.gymmembershipmanagemt.IntegrationTest;
+import com.zaxxer.hikari.HikariDataSource;
+import com.jatana.gymmembershipmanagemt.model.Member;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberPageResponse;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberResponse;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberSummaryResponse;
+import com.jatana.gymmembershipmanagemt.model.enums.MemberStatus;
+import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
+import com.jatana.gymmembershipmanagemt.util.QueryStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@IntegrationTest
+class MemberServiceIntegrationTest {
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private MemberRepo memberRepo;
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @Test
+    void keysetPagingVisitsEveryMemberOnceAcrossCreatedAtTies() {
+        String prefix = uniquePrefix();
+        LocalDateTime tie = LocalDateTime.of(2024, 3, 1, 9, 30, 0, 500_000);
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            // Groups of three share a timestamp, so pages have to break ties on memberId
+            members.add(saveMember(prefix + "-" + i, tie.plusMinutes(i / 3), MemberStatus.ACTIVE));
+        }
+        saveMember(prefix + "-inactive", tie, MemberStatus.INACTIVE);
+
+        List<String> visited = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MemberPageResponse page = memberService.getMembersPage(MemberStatus.ACTIVE, prefix, cursor, 3);
+            page.members().stream().map(MemberSummaryResponse::memberId).forEach(visited::add);
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        List<String> expected = members.stream()
+                .sorted(Comparator.comparing(Member::getCreatedAt).thenComparing(Member::getMemberId).reversed())
+                .map(Member::getMemberId)
+                .toList();
+        assertThat(visited).containsExactlyElementsOf(expected);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void lastFullPageHasNoNextCursor() {
+        String prefix = uniquePrefix();
+        for (int i = 0; i < 4; i++) {
+            saveMember(prefix + "-" + i, LocalDateTime.of(2024, 3, 1, 9, 0), MemberStatus.ACTIVE);
+        }
+
+        MemberPageResponse first = memberService.getMembersPage(MemberStatus.ACTIVE, prefix, null, 2);
+        MemberPageResponse second = memberService.getMembersPage(MemberStatus.ACTIVE, prefix, first.nextCursor(), 2);
+
+        assertThat(first.nextCursor()).isNotNull();
+        assertThat(second.members()).hasSize(2);
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void searchMatchesLikeWildcardsLiterally() {
+        String prefix = uniquePrefix();
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 0);
+        saveMember(prefix + "-50%off", createdAt, MemberStatus.ACTIVE);
+        saveMember(prefix + "-50xoff", createdAt, MemberStatus.ACTIVE);
+        saveMember(prefix + "-a_c", createdAt, MemberStatus.ACTIVE);
+        saveMember(prefix + "-abc", createdAt, MemberStatus.ACTIVE);
+
+        assertThat(memberService.getMembers(MemberStatus.ACTIVE, prefix + "-50%"))
+                .extracting(MemberSummaryResponse::memberId)
+                .containsExactly(prefix + "-50%off");
+        assertThat(memberService.getMembersPage(MemberStatus.ACTIVE, prefix + "-A_C", null, 10).members())
+                .extracting(MemberSummaryResponse::memberId)
+                .containsExactly(prefix + "-a_c");
+    }
+
+    @Test
+    void searchDoesNotMatchAcrossFields() {
+        String prefix = uniquePrefix();
+        saveMember(prefix, LocalDateTime.of(2024, 3, 1, 9, 0), MemberStatus.ACTIVE);
+
+        // The member ID is followed by the full name "Test <id>", so this spans the two
+        assertThat(memberService.getMembers(MemberStatus.ACTIVE, prefix + " test")).isEmpty();
+        assertThat(memberService.getMembers(MemberStatus.ACTIVE, "test " + prefix))
+                .extracting(MemberSummaryResponse::memberId)
+                .containsExactly(prefix);
+    }
+
+    @Test
+    void memberNotFoundReturnsOnlyAfterItsSubtasksHaveStopped() throws Exception {
+        QueryStats queryStats = new QueryStats();
+        long statementsWhenThrown;
+        try (QueryStats.Binding ignored = QueryStats.bind(queryStats)) {
+            assertThatThrownBy(() -> memberService.getMember(uniquePrefix()))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Member not found with ID: ");
+            statementsWhenThrown = queryStats.statementCount();
+        }
+
+        // No history or document lookup is still running and counting against the request
+        Thread.sleep(200);
+        assertThat(queryStats.statementCount()).isEqualTo(statementsWhenThrown);
+    }
+
+    @Test
+    void concurrentStatusUpdatesDoNotExhaustTheConnectionPool() throws Exception {
+        String prefix = uniquePrefix();
+        int callers = dataSource.getMaximumPoolSize();
+        for (int i = 0; i < callers; i++) {
+            saveMember(prefix + "-" + i, LocalDateTime.of(2024, 3, 1, 9, 0), MemberStatus.ACTIVE);
+        }
+
+        // Every caller holds a connection for its transaction; the response must not need another
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            List<Future<MemberResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                String memberId = prefix + "-" + i;
+                responses.add(executor.submit(() -> memberService.updateMemberStatus(memberId, MemberStatus.INACTIVE)));
+            }
+            for (Future<MemberResponse> response : responses) {
+                assertThat(response.get(20, TimeUnit.SECONDS).memberStatus()).isEqualTo(MemberStatus.INACTIVE);
+            }
+        }
+    }
+
+    private Member saveMember(String memberId, LocalDateTime createdAt, MemberStatus status) {
+        Member member = new Member();
+        member.setMemberId(memberId);
+        member.setFirstName("Test");
+        member.setLastName(memberId);
+        member.setFullName("Test " + memberId);
+        member.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        member.setGender("OTHER");
+        member.setPhoneNumber("5550000000");
+        member.setEmail(memberId + "@example.com");
+        member.setMemberStatus(status.toString());
+        member.setCreatedAt(createdAt);
+        member.setUpdatedAt(createdAt);
+        return memberRepo.save(member);
+    }
+
+    private static String uniquePrefix() {
+        return "t" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,213 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.jatana.gymmembershipmanagemt.model.Member;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MemberTypeaheadResponse;
+import com.jatana.gymmembershipmanagemt.model.enums.MemberStatus;
+import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MemberTypeaheadServiceTest {
+
+    @Mock
+    private MemberRepo memberRepo;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @InjectMocks
+    private MemberTypeaheadService typeaheadService;
+
+    @BeforeEach
+    void setRetryDelays() {
+        ReflectionTestUtils.setField(typeaheadService, "retryInitialDelay", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(typeaheadService, "retryMaxDelay", Duration.ofSeconds(15));
+    }
+
+    @Test
+    void matchesPrefixesOfIdNameEmailAndPhone() {
+        load(entry("MEM-1", "Jane Doe", "+1 (555) 010-2000", "jane@example.com", MemberStatus.ACTIVE));
+
+        assertThat(ids("mem-")).containsExactly("MEM-1");
+        assertThat(ids("DOE")).containsExactly("MEM-1");
+        assertThat(ids("jane@ex")).containsExactly("MEM-1");
+        assertThat(ids("1555010")).containsExactly("MEM-1");
+        assertThat(ids("smith")).isEmpty();
+    }
+
+    @Test
+    void phoneQueriesIgnoreFormatting() {
+        load(entry("MEM-1", "Jane Doe", "+1 (555) 010-2000", "jane@example.com", MemberStatus.ACTIVE),
+                entry("MEM-2", "John Roe", "555.010.3000", "john@example.com", MemberStatus.ACTIVE));
+
+        assertThat(ids("+1 (555) 010")).containsExactly("MEM-1");
+        assertThat(ids("555-010-3")).containsExactly("MEM-2");
+        assertThat(ids("555 010")).containsExactly("MEM-2");
+    }
+
+    @Test
+    void filtersByStatusAndHonoursLimit() {
+        load(entry("MEM-1", "Sam One", null, null, MemberStatus.ACTIVE),
+                entry("MEM-2", "Sam Two", null, null, MemberStatus.INACTIVE),
+                entry("MEM-3", "Sam Three", null, null, MemberStatus.ACTIVE));
+
+        assertThat(typeaheadService.search("sam", MemberStatus.INACTIVE, 10))
+                .extracting(MemberTypeaheadResponse::memberId)
+                .containsExactly("MEM-2");
+        assertThat(typeaheadService.search("sam", null, 2)).hasSize(2);
+    }
+
+    @Test
+    void reindexingReplacesOldTokens() {
+        load(entry("MEM-1", "Jane Doe", null, null, MemberStatus.ACTIVE));
+
+        typeaheadService.index(member("MEM-1", "Jane Smith", MemberStatus.ACTIVE));
+
+        assertThat(ids("doe")).isEmpty();
+        assertThat(ids("smith")).containsExactly("MEM-1");
+    }
+
+    @Test
+    void updatesCommittedBeforeTheLoadAreNotOverwrittenBySnapshot() {
+        typeaheadService.index(member("MEM-1", "Jane Smith", MemberStatus.ACTIVE));
+        typeaheadService.indexStatus(List.of("MEM-1"), MemberStatus.INACTIVE);
+
+        // The snapshot was read before those writes committed
+        load(entry("MEM-1", "Jane Doe", null, null, MemberStatus.ACTIVE));
+
+        assertThat(ids("doe")).isEmpty();
+        assertThat(typeaheadService.search("smith", null, 10))
+                .extracting(MemberTypeaheadResponse::memberStatus)
+                .containsExactly(MemberStatus.INACTIVE);
+    }
+
+    @Test
+    void failedLoadLeavesTheIndexNotReadyAndRetriesWithBackoff() {
+        when(memberRepo.findAllTypeaheadEntries()).thenThrow(new IllegalStateException("database unavailable"));
+        typeaheadService.index(member("MEM-1", "Jane Smith", MemberStatus.ACTIVE));
+
+        typeaheadService.loadIndex();
+
+        assertThat(typeaheadService.isReady()).isFalse();
+        assertThat(ids("smith")).isEmpty();
+
+        ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Instant> at = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler).schedule(retry.capture(), at.capture());
+        assertDelay(at.getValue(), Duration.ofSeconds(5));
+
+        retry.getValue().run();
+        verify(taskScheduler, times(2)).schedule(retry.capture(), at.capture());
+        assertDelay(at.getValue(), Duration.ofSeconds(10));
+
+        retry.getValue().run();
+        verify(taskScheduler, times(3)).schedule(retry.capture(), at.capture());
+        assertDelay(at.getValue(), Duration.ofSeconds(15));
+    }
+
+    @Test
+    void retryThatSucceedsAppliesTheBufferedUpdates() {
+        when(memberRepo.findAllTypeaheadEntries())
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(List.of(entry("MEM-1", "Jane Doe", null, null, MemberStatus.ACTIVE),
+                        entry("MEM-2", "John Roe", null, null, MemberStatus.ACTIVE)));
+        typeaheadService.loadIndex();
+        typeaheadService.index(member("MEM-1", "Jane Smith", MemberStatus.ACTIVE));
+
+        ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(retry.capture(), any(Instant.class));
+        retry.getValue().run();
+
+        assertThat(typeaheadService.isReady()).isTrue();
+        assertThat(ids("smith")).containsExactly("MEM-1");
+        assertThat(ids("doe")).isEmpty();
+        assertThat(ids("roe")).containsExactly("MEM-2");
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void reloadPicksUpWritesMadeElsewhere() {
+        load(entry("MEM-1", "Jane Doe", null, null, MemberStatus.ACTIVE));
+
+        // Another instance deactivated MEM-1 and added MEM-2
+        when(memberRepo.findAllTypeaheadEntries()).thenReturn(List.of(
+                entry("MEM-1", "Jane Doe", null, null, MemberStatus.INACTIVE),
+                entry("MEM-2", "John Roe", null, null, MemberStatus.ACTIVE)));
+        typeaheadService.reloadIndex();
+
+        assertThat(typeaheadService.search("doe", null, 10))
+                .extracting(MemberTypeaheadResponse::memberStatus)
+                .containsExactly(MemberStatus.INACTIVE);
+        assertThat(ids("roe")).containsExactly("MEM-2");
+    }
+
+    @Test
+    void failedReloadKeepsTheLoadedIndexAndAppliesUpdates() {
+        load(entry("MEM-1", "Jane Doe", null, null, MemberStatus.ACTIVE));
+        when(memberRepo.findAllTypeaheadEntries()).thenThrow(new IllegalStateException("database unavailable"));
+
+        typeaheadService.reloadIndex();
+        typeaheadService.index(member("MEM-2", "John Roe", MemberStatus.ACTIVE));
+
+        assertThat(typeaheadService.isReady()).isTrue();
+        assertThat(ids("doe")).containsExactly("MEM-1");
+        assertThat(ids("roe")).containsExactly("MEM-2");
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void reloadIsSkippedUntilTheFirstLoadSucceeds() {
+        typeaheadService.reloadIndex();
+
+        verify(memberRepo, never()).findAllTypeaheadEntries();
+        assertThat(typeaheadService.isReady()).isFalse();
+    }
+
+    private static void assertDelay(Instant at, Duration expected) {
+        assertThat(Duration.between(Instant.now(), at).toMillis()).isCloseTo(expected.toMillis(), within(1_000L));
+    }
+
+    private void load(MemberTypeaheadResponse... entries) {
+        when(memberRepo.findAllTypeaheadEntries()).thenReturn(List.of(entries));
+        typeaheadService.loadIndex();
+    }
+
+    private List<String> ids(String query) {
+        return typeaheadService.search(query, null, 10).stream()
+                .map(MemberTypeaheadResponse::memberId)
+                .toList();
+    }
+
+    private static MemberTypeaheadResponse entry(String memberId, String fullName, String phoneNumber,
+                                                 String email, MemberStatus status) {
+        return new MemberTypeaheadResponse(memberId, fullName, phoneNumber, email, status, null);
+    }
+
+    private static Member member(String memberId, String fullName, MemberStatus status) {
+        Member member = new Member();
+        member.setMemberId(memberId);
+        member.setFullName(fullName);
+        member.setMemberStatus(status.toString());
+        return member;
+    }
+}
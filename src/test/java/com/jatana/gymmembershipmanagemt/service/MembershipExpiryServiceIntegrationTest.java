@@ -0,0 +1,170 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.jatana.gymmembershipmanagemt.IntegrationTest;
+import com.jatana.gymmembershipmanagemt.model.JobCheckpoint;
+import com.jatana.gymmembershipmanagemt.model.Member;
+import com.jatana.gymmembershipmanagemt.model.dto.request.MembershipRequest;
+import com.jatana.gymmembershipmanagemt.model.dto.response.MembershipResponse;
+import com.jatana.gymmembershipmanagemt.model.enums.MemberStatus;
+import com.jatana.gymmembershipmanagemt.model.enums.MembershipStatus;
+import com.jatana.gymmembershipmanagemt.model.enums.PaymentMethod;
+import com.jatana.gymmembershipmanagemt.repo.JobCheckpointRepo;
+import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
+import com.jatana.gymmembershipmanagemt.repo.MembershipRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class MembershipExpiryServiceIntegrationTest {
+
+    private static final String JOB_NAME = "membership-expiry";
+
+    @Autowired
+    private MembershipExpiryService membershipExpiryService;
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private MemberRepo memberRepo;
+
+    @Autowired
+    private MembershipRepo membershipRepo;
+
+    @Autowired
+    private JobCheckpointRepo jobCheckpointRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void backdatedMembershipDeactivatesMember() {
+        Member member = saveMember();
+
+        MembershipResponse membership = membershipService.addMembership(member.getMemberId(),
+                membershipRequest(LocalDate.now().minusMonths(2), LocalDate.now().minusDays(3)));
+
+        assertThat(membership.membershipStatus()).isEqualTo(MembershipStatus.COMPLETED);
+        Member saved = memberRepo.findById(member.getMemberId()).orElseThrow();
+        assertThat(saved.getMemberStatus()).isEqualTo(MemberStatus.INACTIVE.toString());
+        assertThat(saved.getInactiveByExpiry()).isTrue();
+    }
+
+    @Test
+    void renewalReactivatesMemberDeactivatedByExpiry() {
+        Member member = saveMember();
+        String membershipId = addMembershipEndingYesterday(member);
+
+        membershipExpiryService.expireMemberships();
+
+        assertThat(membershipRepo.findById(membershipId).orElseThrow().getMembershipStatus())
+                .isEqualTo(MembershipStatus.COMPLETED);
+        assertThat(memberRepo.findById(member.getMemberId()).orElseThrow().getMemberStatus())
+                .isEqualTo(MemberStatus.INACTIVE.toString());
+
+        membershipService.addMembership(member.getMemberId(),
+                membershipRequest(LocalDate.now(), LocalDate.now().plusMonths(1)));
+
+        Member renewed = memberRepo.findById(member.getMemberId()).orElseThrow();
+        assertThat(renewed.getMemberStatus()).isEqualTo(MemberStatus.ACTIVE.toString());
+        assertThat(renewed.getInactiveByExpiry()).isFalse();
+    }
+
+    @Test
+    void renewalKeepsMemberDeactivatedByAdmin() {
+        Member member = saveMember();
+        membershipService.addMembership(member.getMemberId(),
+                membershipRequest(LocalDate.now(), LocalDate.now().plusMonths(1)));
+        memberService.updateMemberStatus(member.getMemberId(), MemberStatus.INACTIVE);
+
+        membershipService.addMembership(member.getMemberId(),
+                membershipRequest(LocalDate.now(), LocalDate.now().plusMonths(2)));
+
+        assertThat(memberRepo.findById(member.getMemberId()).orElseThrow().getMemberStatus())
+                .isEqualTo(MemberStatus.INACTIVE.toString());
+    }
+
+    @Test
+    void overlappingRunDoesNotRedoFinishedWork() {
+        Member member = saveMember();
+        addMembershipEndingYesterday(member);
+        membershipExpiryService.expireMemberships();
+        memberService.updateMemberStatus(member.getMemberId(), MemberStatus.ACTIVE);
+
+        // Another instance that read the old mark runs the same range again
+        rewindHighWaterMark();
+        membershipExpiryService.expireMemberships();
+
+        assertThat(memberRepo.findById(member.getMemberId()).orElseThrow().getMemberStatus())
+                .isEqualTo(MemberStatus.ACTIVE.toString());
+        assertThat(highWaterMark()).isEqualTo(LocalDate.now().minusDays(1));
+    }
+
+    @Test
+    void highWaterMarkNeverMovesBack() {
+        LocalDate current = highWaterMark();
+
+        transactionTemplate.executeWithoutResult(status -> jobCheckpointRepo.advanceHighWaterMark(
+                JOB_NAME, current.minusDays(10), LocalDateTime.now()));
+
+        assertThat(highWaterMark()).isEqualTo(current);
+    }
+
+    /**
+     * Adds a membership that is still active but ended yesterday, as the expiry job finds it the
+     * morning after, and moves the mark back so the job looks at it.
+     */
+    private String addMembershipEndingYesterday(Member member) {
+        String membershipId = membershipService.addMembership(member.getMemberId(),
+                membershipRequest(LocalDate.now().minusMonths(1), LocalDate.now())).membershipId();
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        jdbcTemplate.update("UPDATE membership SET end_date = ? WHERE membership_id = ?", yesterday, membershipId);
+        jdbcTemplate.update("UPDATE member SET current_membership_end_date = ? WHERE member_id = ?",
+                yesterday, member.getMemberId());
+        rewindHighWaterMark();
+        return membershipId;
+    }
+
+    private void rewindHighWaterMark() {
+        jdbcTemplate.update("UPDATE job_checkpoint SET high_water_mark = ? WHERE job_name = ?",
+                LocalDate.now().minusDays(2), JOB_NAME);
+    }
+
+    private LocalDate highWaterMark() {
+        return jobCheckpointRepo.findById(JOB_NAME).map(JobCheckpoint::getHighWaterMark).orElseThrow();
+    }
+
+    private MembershipRequest membershipRequest(LocalDate startDate, LocalDate endDate) {
+        return new MembershipRequest("MONTHLY", startDate, endDate, 30.0,
+                startDate.atStartOfDay(), PaymentMethod.CASH, "TXN-" + UUID.randomUUID());
+    }
+
+    private Member saveMember() {
+        String memberId = "exp-" + UUID.randomUUID();
+        Member member = new Member();
+        member.setMemberId(memberId);
+        member.setFirstName("Test");
+        member.setLastName(memberId);
+        member.setFullName("Test " + memberId);
+        member.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        member.setGender("OTHER");
+        member.setMemberStatus(MemberStatus.ACTIVE.toString());
+        member.setCreatedAt(LocalDateTime.now());
+        member.setUpdatedAt(LocalDateTime.now());
+        return memberRepo.save(member);
+    }
+}
@@ -0,0 +1,72 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.jatana.gymmembershipmanagemt.IntegrationTest;
+import com.jatana.gymmembershipmanagemt.model.dto.request.PlanRequest;
+import com.jatana.gymmembershipmanagemt.model.dto.response.PlanResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@IntegrationTest
+class PlanServiceIntegrationTest {
+
+    @Autowired
+    private PlanService planService;
+
+    @Test
+    void createIsVisibleToCachedReads() {
+        String planId = "plan-" + UUID.randomUUID();
+        assertThat(planService.getPlans()).extracting(PlanResponse::planId).doesNotContain(planId);
+        assertThat(planService.findPlan(planId)).isEmpty();
+        assertThatThrownBy(() -> planService.getPlan(planId)).isInstanceOf(IllegalArgumentException.class);
+
+        planService.createPlan(new PlanRequest(planId, 3, 30.0, "Quarterly"));
+
+        assertThat(planService.getPlans()).extracting(PlanResponse::planId).contains(planId);
+        assertThat(planService.findPlan(planId)).map(PlanResponse::price).contains(30.0);
+        assertThat(planService.getPlan(planId).price()).isEqualTo(30.0);
+    }
+
+    @Test
+    void updateIsVisibleToCachedReads() {
+        String planId = "plan-" + UUID.randomUUID();
+        planService.createPlan(new PlanRequest(planId, 3, 30.0, "Quarterly"));
+        assertThat(priceInPlans(planId)).isEqualTo(30.0);
+        assertThat(planService.findPlan(planId)).map(PlanResponse::price).contains(30.0);
+        assertThat(planService.getPlan(planId).price()).isEqualTo(30.0);
+
+        planService.updatePlan(new PlanRequest(planId, 6, 55.0, "Half-yearly"));
+
+        assertThat(priceInPlans(planId)).isEqualTo(55.0);
+        assertThat(planService.findPlan(planId)).map(PlanResponse::price).contains(55.0);
+        assertThat(planService.getPlan(planId).price()).isEqualTo(55.0);
+        assertThat(planService.getPlan(planId).durationMonths()).isEqualTo(6);
+    }
+
+    @Test
+    void deleteIsVisibleToCachedReads() {
+        String planId = "plan-" + UUID.randomUUID();
+        planService.createPlan(new PlanRequest(planId, 3, 30.0, "Quarterly"));
+        assertThat(planService.getPlans()).extracting(PlanResponse::planId).contains(planId);
+        assertThat(planService.findPlan(planId)).isPresent();
+        assertThat(planService.getPlan(planId).planId()).isEqualTo(planId);
+
+        planService.deletePlan(planId);
+
+        assertThat(planService.getPlans()).extracting(PlanResponse::planId).doesNotContain(planId);
+        assertThat(planService.findPlan(planId)).isEmpty();
+        assertThatThrownBy(() -> planService.getPlan(planId)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private double priceInPlans(String planId) {
+        return planService.getPlans().stream()
+                .filter(plan -> plan.planId().equals(planId))
+                .findFirst()
+                .orElseThrow()
+                .price();
+    }
+}
@@ -0,0 +1,155 @@
+package com.jatana.gymmembershipmanagemt.service;
+
+import com.jatana.gymmembershipmanagemt.IntegrationTest;
+import com.jatana.gymmembershipmanagemt.model.Member;
+import com.jatana.gymmembershipmanagemt.model.dto.request.MembershipRequest;
+import com.jatana.gymmembershipmanagemt.model.enums.MemberStatus;
+import com.jatana.gymmembershipmanagemt.model.enums.PaymentMethod;
+import com.jatana.gymmembershipmanagemt.repo.JobCheckpointRepo;
+import com.jatana.gymmembershipmanagemt.repo.MemberRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class RevenueReportServiceIntegrationTest {
+
+    @Autowired
+    private RevenueReportService revenueReportService;
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private MemberRepo memberRepo;
+
+    @Autowired
+    private JobCheckpointRepo jobCheckpointRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void backfillKeepsPaymentsRecordedWhileItRuns() throws Exception {
+        Member member = saveMember();
+        for (int i = 0; i < 3; i++) {
+            addMembership(member, PaymentMethod.CASH);
+        }
+        jobCheckpointRepo.deleteById("revenue-rollup-backfill");
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(6)) {
+            // A payment that is still uncommitted when the backfill starts
+            CountDownLatch paymentAdded = new CountDownLatch(1);
+            CountDownLatch commitPayment = new CountDownLatch(1);
+            Future<?> openPayment = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                addMembership(member, PaymentMethod.CASH);
+                paymentAdded.countDown();
+                await(commitPayment);
+            }));
+            assertThat(paymentAdded.await(10, TimeUnit.SECONDS)).isTrue();
+
+            Future<?> backfill = executor.submit(revenueReportService::backfillRollups);
+            awaitBlockedSessions(1);
+
+            // Payments started while the backfill runs, for the same rollup row and another one
+            List<Future<?>> payments = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                PaymentMethod method = i % 2 == 0 ? PaymentMethod.CASH : PaymentMethod.CARD;
+                payments.add(executor.submit(() -> addMembership(member, method)));
+            }
+
+            commitPayment.countDown();
+            openPayment.get(10, TimeUnit.SECONDS);
+            backfill.get(10, TimeUnit.SECONDS);
+            for (Future<?> payment : payments) {
+                payment.get(10, TimeUnit.SECONDS);
+            }
+        }
+
+        assertThat(jobCheckpointRepo.existsById("revenue-rollup-backfill")).isTrue();
+        assertThat(rollupTotals()).isEqualTo(paymentTotals());
+    }
+
+    private Map<String, String> rollupTotals() {
+        Map<String, String> totals = new HashMap<>();
+        jdbcTemplate.query("SELECT rollup_id, payment_count, revenue FROM revenue_daily_rollup",
+                rs -> {
+                    totals.put(rs.getString(1), rs.getLong(2) + "/" + rs.getDouble(3));
+                });
+        return totals;
+    }
+
+    private Map<String, String> paymentTotals() {
+        Map<String, String> totals = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT CONCAT(CAST(CAST(COALESCE(pay.payment_date_time, pay.created_at) AS date) AS varchar), '|',
+                              COALESCE(ms.plan_id, ''), '|', COALESCE(CAST(pay.payment_method AS varchar), '')),
+                       COUNT(*), SUM(pay.price_paid)
+                FROM payment pay
+                LEFT JOIN membership ms ON ms.membership_id = pay.membership_id
+                GROUP BY 1
+                """,
+                rs -> {
+                    totals.put(rs.getString(1), rs.getLong(2) + "/" + rs.getDouble(3));
+                });
+        return totals;
+    }
+
+    private void awaitBlockedSessions(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_stat_activity WHERE datname = current_database() AND wait_event_type = 'Lock'",
+                Integer.class) < count) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void addMembership(Member member, PaymentMethod method) {
+        LocalDate startDate = LocalDate.of(2024, 5, 1);
+        membershipService.addMembership(member.getMemberId(), new MembershipRequest("MONTHLY", startDate,
+                startDate.plusMonths(1), 25.0, startDate.atTime(10, 0), method, "TXN-" + UUID.randomUUID()));
+    }
+
+    private Member saveMember() {
+        String memberId = "rev-" + UUID.randomUUID();
+        Member member = new Member();
+        member.setMemberId(memberId);
+        member.setFirstName("Test");
+        member.setLastName(memberId);
+        member.setFullName("Test " + memberId);
+        member.setGender("OTHER");
+        member.setMemberStatus(MemberStatus.ACTIVE.toString());
+        member.setCreatedAt(LocalDateTime.now());
+        member.setUpdatedAt(LocalDateTime.now());
+        return memberRepo.save(member);
+    }
+}
@@ -0,0 +1,129 @@
+package com.jatana.gymmembershipmanagemt.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvTest {
+
+    @Test
+    void parsesPlainQuotedAndEmptyFields() {
+        assertThat(Csv.parseLine("a,\"b,c\",,\"say \"\"hi\"\"\","))
+                .containsExactly("a", "b,c", "", "say \"hi\"", "");
+        assertThat(Csv.parseLine("")).containsExactly("");
+    }
+
+    @Test
+    void rejectsUnterminatedQuotedField() {
+        assertThatThrownBy(() -> Csv.parseLine("a,\"b"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unterminated quoted field");
+    }
+
+    @Test
+    void escapesOnlyValuesThatNeedIt() {
+        assertThat(Csv.escape(null)).isEmpty();
+        assertThat(Csv.escape(42)).isEqualTo("42");
+        assertThat(Csv.escape("plain text")).isEqualTo("plain text");
+        assertThat(Csv.escape("a,b")).isEqualTo("\"a,b\"");
+        assertThat(Csv.escape("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+        assertThat(Csv.escape("two\nlines")).isEqualTo("\"two\nlines\"");
+    }
+
+    @Test
+    void spreadsheetEscapeNeutralisesFormulas() {
+        assertThat(Csv.escapeForSpreadsheet("=HYPERLINK(\"http://x\")")).isEqualTo("\"'=HYPERLINK(\"\"http://x\"\")\"");
+        assertThat(Csv.escapeForSpreadsheet("+1 555 0100")).isEqualTo("\"'+1 555 0100\"");
+        assertThat(Csv.escapeForSpreadsheet("-2+3")).isEqualTo("\"'-2+3\"");
+        assertThat(Csv.escapeForSpreadsheet("@SUM(A1)")).isEqualTo("\"'@SUM(A1)\"");
+        assertThat(Csv.escapeForSpreadsheet("\t=1")).isEqualTo("\"'\t=1\"");
+        assertThat(Csv.escapeForSpreadsheet("\r=1")).isEqualTo("\"'\r=1\"");
+    }
+
+    @Test
+    void spreadsheetEscapeLeavesOtherValuesAsEscape() {
+        assertThat(Csv.escapeForSpreadsheet(null)).isEmpty();
+        assertThat(Csv.escapeForSpreadsheet(-12.5)).isEqualTo("-12.5");
+        assertThat(Csv.escapeForSpreadsheet("")).isEmpty();
+        assertThat(Csv.escapeForSpreadsheet("a=b")).isEqualTo("a=b");
+        assertThat(Csv.escapeForSpreadsheet("a,b")).isEqualTo("\"a,b\"");
+    }
+
+    @Test
+    void escapedValuesRoundTrip() {
+        List<String> values = List.of("plain", "a,b", "say \"hi\"", "\"", "two\nlines", "crlf\r\nline",
+                "cr\rline", " padded ", "", ",\",\n");
+
+        String line = values.stream().map(Csv::escape).collect(Collectors.joining(","));
+
+        assertThat(Csv.parseLine(line)).containsExactlyElementsOf(values);
+    }
+
+    @Test
+    void readsRecordsSpanningLinesAndReportsTheirStartLine() throws IOException {
+        String input = "id,address\r\n1,\"12 High St\r\nLeeds\"\n2,\"a\nb\nc\"\r3,plain\n\n4,last";
+        Csv.RecordReader reader = new Csv.RecordReader(new StringReader(input), 1000);
+
+        List<String> records = new ArrayList<>();
+        List<Long> lines = new ArrayList<>();
+        for (List<String> record = reader.next(); record != null; record = reader.next()) {
+            records.add(String.join("|", record));
+            lines.add(reader.lineNumber());
+        }
+
+        assertThat(records).containsExactly("id|address", "1|12 High St\r\nLeeds", "2|a\nb\nc", "3|plain", "", "4|last");
+        assertThat(lines).containsExactly(1L, 2L, 4L, 7L, 8L, 9L);
+    }
+
+    @Test
+    void trailingLineBreakDoesNotAddARecord() throws IOException {
+        Csv.RecordReader reader = new Csv.RecordReader(new StringReader("a,b\n"), 1000);
+
+        assertThat(reader.next()).containsExactly("a", "b");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void readsEscapedQuotesAcrossBufferBoundaries() throws IOException {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            char[] chars = new char[333 + i];
+            Arrays.fill(chars, '"');
+            values.add(i + new String(chars) + "\n,");
+        }
+        String input = values.stream().map(Csv::escape).collect(Collectors.joining("\n"));
+        Csv.RecordReader reader = new Csv.RecordReader(new StringReader(input), Integer.MAX_VALUE);
+
+        for (String value : values) {
+            assertThat(reader.next()).containsExactly(value);
+        }
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void unterminatedQuoteEndsTheInput() throws IOException {
+        Csv.RecordReader reader = new Csv.RecordReader(new StringReader("1,ok\n2,\"open\n3,ok\n"), 1000);
+
+        assertThat(reader.next()).containsExactly("1", "ok");
+        assertThatThrownBy(reader::next).hasMessage("Unterminated quoted field");
+        assertThat(reader.lineNumber()).isEqualTo(2);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void rejectsRecordsLongerThanTheLimit() throws IOException {
+        Csv.RecordReader reader = new Csv.RecordReader(new StringReader("short\n\"" + "x".repeat(100) + "\"\nnext"), 50);
+
+        assertThat(reader.next()).containsExactly("short");
+        assertThatThrownBy(reader::next).hasMessageContaining("longer than 50");
+        assertThat(reader.next()).isNull();
+    }
+}
@@ -0,0 +1,59 @@
+package com.jatana.gymmembershipmanagemt.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemberCursorTest {
+
+    @Test
+    void roundTripsCreatedAtToTheNanosecond() {
+        MemberCursor cursor = new MemberCursor(LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_789), "MEM-1");
+
+        assertThat(MemberCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripsMidnightAndMemberIdsContainingTheSeparator() {
+        MemberCursor cursor = new MemberCursor(LocalDateTime.of(2024, 1, 1, 0, 0), "a|b|c");
+
+        assertThat(MemberCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodesAsUrlSafeTokenWithoutPadding() {
+        String token = new MemberCursor(LocalDateTime.of(2024, 1, 1, 10, 0), "MEM?>>").encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsTokensThatAreNotBase64() {
+        assertThatThrownBy(() -> MemberCursor.decode("not a cursor!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Invalid cursor");
+    }
+
+    @Test
+    void rejectsTokensWithoutSeparator() {
+        assertThatThrownBy(() -> MemberCursor.decode(encode("2024-01-01T10:00")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Invalid cursor");
+    }
+
+    @Test
+    void rejectsTokensWithInvalidTimestamp() {
+        assertThatThrownBy(() -> MemberCursor.decode(encode("yesterday|MEM-1")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Invalid cursor");
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
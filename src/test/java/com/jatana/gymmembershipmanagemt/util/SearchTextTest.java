@@ -0,0 +1,44 @@
+package com.jatana.gymmembershipmanagemt.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTextTest {
+
+    @Test
+    void joinsNonNullPartsInLowerCase() {
+        assertThat(SearchText.of("MEM-1", null, "Jane DOE", "Jane@Example.com"))
+                .isEqualTo("mem-1\u0001jane doe\u0001jane@example.com");
+    }
+
+    @Test
+    void keywordCannotSpanTwoParts() {
+        String searchText = SearchText.of("MEM-1", "Jane Doe", "jd@example.com");
+
+        assertThat(searchText).doesNotContain(SearchText.keyword("doe jd"));
+        assertThat(SearchText.keyword("doe\u0001jd")).isEqualTo("doejd");
+        assertThat(searchText).contains(SearchText.keyword("Jane Doe"));
+    }
+
+    @Test
+    void keywordIsTrimmedAndLowerCased() {
+        assertThat(SearchText.keyword("  Jane DOE ")).isEqualTo("jane doe");
+    }
+
+    @Test
+    void keywordOfNullIsEmpty() {
+        assertThat(SearchText.keyword(null)).isEmpty();
+    }
+
+    @Test
+    void keywordEscapesLikeWildcards() {
+        assertThat(SearchText.keyword("50%_off")).isEqualTo("50\\%\\_off");
+    }
+
+    @Test
+    void keywordEscapesTheEscapeCharacterFirst() {
+        assertThat(SearchText.keyword("a\\%b")).isEqualTo("a\\\\\\%b");
+        assertThat(SearchText.keyword("\\")).isEqualTo("\\\\");
+    }
+}
@@ -0,0 +1,112 @@
+package com.jatana.gymmembershipmanagemt.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SubtaskScopeTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void joinReturnsResultsOfAllSubtasks() {
+        try (SubtaskScope scope = new SubtaskScope(executor)) {
+            var first = scope.fork(() -> 1);
+            var second = scope.fork(() -> "two");
+
+            scope.join();
+
+            assertThat(first.get()).isEqualTo(1);
+            assertThat(second.get()).isEqualTo("two");
+        }
+    }
+
+    @Test
+    void failedSubtaskIsRethrownAfterSiblingsHaveStopped() {
+        CountDownLatch siblingStarted = new CountDownLatch(1);
+        AtomicBoolean siblingStopped = new AtomicBoolean();
+
+        assertThatThrownBy(() -> {
+            try (SubtaskScope scope = new SubtaskScope(executor)) {
+                scope.fork(() -> slowToStop(siblingStarted, siblingStopped));
+                siblingStarted.await();
+                scope.fork(() -> {
+                    throw new IllegalStateException("query failed");
+                });
+                scope.join();
+            }
+        }).isInstanceOf(IllegalStateException.class).hasMessage("query failed");
+
+        assertThat(siblingStopped).isTrue();
+    }
+
+    @Test
+    void ownerFailureWaitsForRunningSubtasks() {
+        CountDownLatch siblingStarted = new CountDownLatch(1);
+        AtomicBoolean siblingStopped = new AtomicBoolean();
+
+        // The owner fails its own lookup, e.g. member not found, before it joins
+        assertThatThrownBy(() -> {
+            try (SubtaskScope scope = new SubtaskScope(executor)) {
+                scope.fork(() -> slowToStop(siblingStarted, siblingStopped));
+                siblingStarted.await();
+                throw new IllegalArgumentException("Member not found with ID: MEM-1");
+            }
+        }).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(siblingStopped).isTrue();
+    }
+
+    @Test
+    void subtaskQueuedWhenTheScopeClosesNeverRuns() throws Exception {
+        ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean ran = new AtomicBoolean();
+        try {
+            singleThread.submit(() -> {
+                release.await();
+                return null;
+            });
+
+            try (SubtaskScope scope = new SubtaskScope(singleThread)) {
+                scope.fork(() -> ran.getAndSet(true));
+            }
+            release.countDown();
+            singleThread.shutdown();
+
+            assertThat(singleThread.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(ran).isFalse();
+        } finally {
+            singleThread.shutdownNow();
+        }
+    }
+
+    // Like a JDBC call that only notices the interrupt once the driver returns
+    private static Object slowToStop(CountDownLatch started, AtomicBoolean stopped) {
+        started.countDown();
+        try {
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+        } catch (InterruptedException e) {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException ignored) {
+                // Keep going, the point is to finish late
+            }
+        }
+        stopped.set(true);
+        return null;
+    }
+}